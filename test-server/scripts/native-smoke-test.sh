@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+#
+# Smoke test of the native image: builds the JVM jar and the native binary with the H2 driver
+# bundled, starts both against an in-memory database, and compares time to first request,
+# time to ready and resident memory (see scripts/startup-benchmark.sh).
+#
+#   scripts/native-smoke-test.sh
+#
+# Needs GraalVM 22.3+ as JAVA_HOME (or native-image on the PATH) for the build.
+#
+# Environment:
+#   RUNS=3          runs per mode
+#   SKIP_BUILD=1    reuse target/ from an earlier run
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+if [ "${SKIP_BUILD:-0}" != "1" ]; then
+  if ! command -v native-image > /dev/null && [ ! -x "${JAVA_HOME:-}/bin/native-image" ]; then
+    echo "native-image not found: run with a GraalVM JDK as JAVA_HOME" >&2
+    exit 1
+  fi
+  ./mvnw -B -q -Pnative,h2 -DskipTests package native:compile
+fi
+
+# the MySQL seed data in data.sql does not load into H2; the schema comes from Flyway
+export SPRING_DATASOURCE_URL="jdbc:h2:mem:polis_university;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1"
+export SPRING_DATASOURCE_DRIVER_CLASS_NAME=org.h2.Driver
+export SPRING_DATASOURCE_USERNAME=sa
+export SPRING_DATASOURCE_PASSWORD=
+export SPRING_SQL_INIT_MODE=never
+
+rm -f target/startup-benchmark.csv
+SKIP_BUILD=1 RUNS=${RUNS:-3} scripts/startup-benchmark.sh aot native
+
+awk -F, 'NR > 1 { n[$2]++; f[$2] += $4; m[$2] += $6 }
+  END {
+    if (n["aot"] && n["native"] && m["native"] > 0 && f["native"] > 0)
+      printf "\nnative vs JVM (AOT): first request %.1fx faster, rss %.1fx smaller\n",
+        (f["aot"] / n["aot"]) / (f["native"] / n["native"]), (m["aot"] / n["aot"]) / (m["native"] / n["native"])
+  }' target/startup-benchmark.csv
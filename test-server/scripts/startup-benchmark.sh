@@ -0,0 +1,116 @@
+#!/usr/bin/env bash
+#
+# Time to first request for each start-up mode of the appserver.
+#
+#   scripts/startup-benchmark.sh [mode...]     modes: jar lazy aot cds aot-cds native
+#                                              (default: all but native)
+#
+# Each run starts the server, then polls until POST /course/filter answers 200 (time to first
+# request) and /health/ready answers 200 (time to ready, after warm-up), and then reads the
+# resident set size of the process. Results are appended to target/startup-benchmark.csv and
+# a per-mode mean is printed. The script fails when a run never answered.
+#
+# The native mode runs target/appserver, built with -Pnative native:compile (see
+# scripts/native-smoke-test.sh); it is not part of the default build.
+#
+# The server needs its database, as configured or through SPRING_DATASOURCE_URL,
+# SPRING_DATASOURCE_USERNAME and SPRING_DATASOURCE_PASSWORD.
+#
+# Environment:
+#   RUNS=3              runs per mode
+#   PORT=18080          server port
+#   SKIP_BUILD=1        reuse target/ instead of building with -Paot,cds
+#   EXTRA_CLASSPATH=    appended to the class path of the JVM modes (for example a JDBC driver)
+#   JAVA_OPTS=          extra JVM options for the JVM modes
+#   TIMEOUT_SECONDS=120 give up on a run after this long
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-3}
+PORT=${PORT:-18080}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+  MODES=(jar lazy aot cds aot-cds)
+fi
+
+if [ "${SKIP_BUILD:-0}" != "1" ]; then
+  ./mvnw -B -q -Paot,cds -DskipTests package
+fi
+
+JAR=$(ls target/appserver-*.jar | grep -v plain | head -1)
+CDS_JAR=target/cds/$(basename "$JAR")
+CDS_ARCHIVE=target/cds/application.jsa
+NATIVE_IMAGE=target/appserver
+RESULTS=target/startup-benchmark.csv
+CP_SUFFIX=${EXTRA_CLASSPATH:+:$EXTRA_CLASSPATH}
+
+[ -f "$RESULTS" ] || echo "timestamp,mode,run,first_request_ms,ready_ms,rss_kb" > "$RESULTS"
+
+JAVA="java ${JAVA_OPTS:-}"
+
+command_for() {
+  case "$1" in
+    jar)     echo "$JAVA -cp $JAR$CP_SUFFIX org.springframework.boot.loader.launch.JarLauncher" ;;
+    lazy)    echo "$JAVA -cp $JAR$CP_SUFFIX org.springframework.boot.loader.launch.JarLauncher --spring.profiles.active=lazy" ;;
+    aot)     echo "$JAVA -Dspring.aot.enabled=true -cp $JAR$CP_SUFFIX org.springframework.boot.loader.launch.JarLauncher" ;;
+    cds)     echo "$JAVA -XX:SharedArchiveFile=$CDS_ARCHIVE -cp $CDS_JAR$CP_SUFFIX al.polis.appserver.AppserverApplication" ;;
+    aot-cds) echo "$JAVA -XX:SharedArchiveFile=$CDS_ARCHIVE -Dspring.aot.enabled=true -cp $CDS_JAR$CP_SUFFIX al.polis.appserver.AppserverApplication" ;;
+    native)  echo "$NATIVE_IMAGE" ;;
+    *)       echo "Unknown mode $1" >&2; exit 1 ;;
+  esac
+}
+
+now_ms() {
+  date +%s%3N
+}
+
+# prints the milliseconds since $2 until the command in $1 prints 200,
+# or -1 on timeout or when the server process ($pid) has exited
+wait_for_200() {
+  local start=$2
+  while [ $(( $(now_ms) - start )) -lt $(( TIMEOUT_SECONDS * 1000 )) ] && kill -0 "$pid" 2>/dev/null; do
+    if [ "$(eval "$1")" = "200" ]; then
+      echo $(( $(now_ms) - start ))
+      return
+    fi
+    sleep 0.02
+  done
+  echo -1
+}
+
+FIRST_REQUEST="curl -s -o /dev/null -w '%{http_code}' -X POST -H 'Content-Type: application/json' \
+  -d '{\"filter\":\"\",\"pagination\":{\"pageNumber\":0,\"pageSize\":20}}' http://localhost:$PORT/course/filter"
+READY="curl -s -o /dev/null -w '%{http_code}' http://localhost:$PORT/health/ready"
+
+failures=0
+for mode in "${MODES[@]}"; do
+  for run in $(seq 1 "$RUNS"); do
+    log=target/startup-$mode-$run.log
+    start=$(now_ms)
+    # shellcheck disable=SC2046
+    $(command_for "$mode") --server.port="$PORT" > "$log" 2>&1 &
+    pid=$!
+    first=$(wait_for_200 "$FIRST_REQUEST" "$start")
+    ready=$(wait_for_200 "$READY" "$start")
+    rss=$(ps -o rss= -p "$pid" 2>/dev/null | tr -d ' ' || true)
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    echo "$(date -u +%FT%TZ),$mode,$run,$first,$ready,${rss:--1}" >> "$RESULTS"
+    echo "$mode run $run: first request ${first} ms, ready ${ready} ms, rss ${rss:--1} kB"
+    if [ "$first" -lt 0 ] || [ "$ready" -lt 0 ]; then
+      echo "  server did not answer, see $log" >&2
+      failures=$((failures + 1))
+    fi
+  done
+done
+
+echo
+echo "Mean over the runs in $RESULTS:"
+awk -F, 'NR > 1 && $4 >= 0 && $5 >= 0 { n[$2]++; f[$2] += $4; r[$2] += $5; m[$2] += $6 }
+  END { for (k in n) printf "  %-8s first request %6d ms   ready %6d ms   rss %7d kB   (%d runs)\n",
+    k, f[k] / n[k], r[k] / n[k], m[k] / n[k], n[k] }' "$RESULTS" | sort
+
+[ "$failures" -eq 0 ]
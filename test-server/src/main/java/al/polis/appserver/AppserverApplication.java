@@ -1,12 +1,15 @@
 package al.polis.appserver;
 
+import al.polis.appserver.config.AppserverRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @SpringBootApplication
+@ImportRuntimeHints(AppserverRuntimeHints.class)
 public class AppserverApplication {
 
 	public static void main(String[] args) {
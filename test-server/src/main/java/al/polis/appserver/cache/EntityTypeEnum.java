@@ -0,0 +1,23 @@
+package al.polis.appserver.cache;
+
+/**
+ * Entity types tracked by the {@link QueryResultCache} generation counters.
+ */
+public enum EntityTypeEnum {
+    STUDENT,
+    TEACHER,
+    COURSE;
+
+    /**
+     * Types whose data ends up in a mapped result of this type: a student
+     * embeds its course, a teacher its courses and a course both its teacher
+     * and its students.
+     */
+    EntityTypeEnum[] dependencies() {
+        return switch (this) {
+            case STUDENT -> new EntityTypeEnum[]{STUDENT, COURSE};
+            case TEACHER -> new EntityTypeEnum[]{TEACHER, COURSE};
+            case COURSE -> new EntityTypeEnum[]{COURSE, TEACHER, STUDENT};
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package al.polis.appserver.cache;
+
+import al.polis.appserver.communication.Pagination;
+import al.polis.appserver.communication.Sorting;
+import al.polis.appserver.dto.SimpleStringFilterDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache for the results of the filter endpoints.
+ * <p>
+ * Entries are never invalidated one by one. Each entity type has a generation
+ * counter that every write bumps, and the sum of the generations a result
+ * depends on is part of its key: after a write, lookups build new keys and the
+ * old entries simply age out of the LRU.
+ * <p>
+ * Inside a transaction the bump is repeated after completion, so a reader that
+ * ran between the first bump and the commit cannot leave a stale page under
+ * the current generation. Lookups made inside an active transaction bypass the
+ * cache because they may see uncommitted data.
+ */
+@Component
+@Slf4j
+public class QueryResultCache {
+
+    private final AtomicLongArray generations = new AtomicLongArray(EntityTypeEnum.values().length);
+    private final Map<List<Object>, Object> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public QueryResultCache(@Value("${appserver.cache.query.max-entries:1000}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Object> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result for the filter or computes it with the loader.
+     * The loader receives the versioned key so it can be reused for request
+     * coalescing.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(EntityTypeEnum type, SimpleStringFilterDto filter, Function<List<Object>, T> loader) {
+        List<Object> key = keyFor(type, filter);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.apply(key);
+        }
+
+        Object cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+            return (T) cached;
+        }
+
+        misses.increment();
+        T value = loader.apply(key);
+        if (value != null) {
+            synchronized (entries) {
+                entries.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Makes every cached result depending on the given types unreachable.
+     */
+    public void invalidate(EntityTypeEnum... types) {
+        bump(types);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(types);
+                }
+            });
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void bump(EntityTypeEnum... types) {
+        for (EntityTypeEnum type : types) {
+            generations.incrementAndGet(type.ordinal());
+        }
+    }
+
+    private List<Object> keyFor(EntityTypeEnum type, SimpleStringFilterDto filter) {
+        long stamp = 0;
+        for (EntityTypeEnum dependency : type.dependencies()) {
+            stamp += generations.get(dependency.ordinal());
+        }
+        Pagination pagination = filter.getPagination();
+        List<Sorting> sort = pagination.getSort() == null ? List.of() : Arrays.asList(pagination.getSort());
+        return SingleFlight.key(type, filter.getClass(), filter.normalizedFilter(), filter.criteria(),
+                pagination.getPageNumber(),
+                pagination.getPageSize(),
+                sort,
+                stamp);
+    }
+}
@@ -0,0 +1,90 @@
+package al.polis.appserver.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: the first caller for a key runs the
+ * loader, every caller arriving while it is still running waits for and
+ * shares the same result (or exception).
+ * <p>
+ * Loaders must return fully mapped DTOs, never managed entities, because the
+ * result is handed to threads with a different persistence context. Calls made
+ * inside an active transaction bypass coalescing so they always see their own
+ * uncommitted writes.
+ */
+@Component
+@Slf4j
+public class SingleFlight {
+
+    private final ConcurrentHashMap<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    public static List<Object> key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(List<Object> key, Supplier<T> loader) {
+        calls.increment();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            collapsed.increment();
+            log.debug("Joined in-flight load for {}", key);
+            return (T) await(running);
+        }
+
+        try {
+            T value = loader.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            own.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getCollapsed() {
+        return collapsed.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
@@ -5,39 +5,141 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Statuses raised while serving a request, read back into the response.
+ * <p>
+ * {@link al.polis.appserver.filter.TraceIdFilter} opens a collector with
+ * the request's trace id and always closes it, so nothing leaks into the
+ * next request served by a pooled (or virtual) thread even when a handler
+ * never calls {@link #readAndClean()}. Only the ServerErrorEnum constants are
+ * recorded; ServerStatus objects are built once, when they are read, and the
+ * common "no status" case allocates nothing. Work handed to other threads
+ * shares the collector through {@link #propagate(Runnable)}.
+ * <p>
+ * Code running outside a request (tests, startup) gets a collector on first
+ * use, as before.
+ */
 @Slf4j
 public class ErrorContext {
 
-    private final static ThreadLocal<List<ServerStatus>> listaStatus;
+    private static final ThreadLocal<Collector> CURRENT = new ThreadLocal<>();
 
-    static {
-        listaStatus = new ThreadLocal<>();
+    private ErrorContext() {
     }
 
     public static void addStatusMessage(ServerErrorEnum error) {
-        var status = new ServerStatus(error);
-        var ls = listaStatus.get();
-        if (ls == null) {
-            ls = new ArrayList<>();
-            listaStatus.set(ls);
+        Collector collector = CURRENT.get();
+        if (collector == null) {
+            collector = new Collector(null);
+            CURRENT.set(collector);
+        }
+        collector.add(error);
+        if (log.isDebugEnabled()) {
+            log.debug("Status {} raised, trace id {}", error, collector.traceId);
         }
-
-        ls.add(status);
-        logTrace(status);
     }
 
     public static List<ServerStatus> readAndClean() {
-        var lista = listaStatus.get();
-        listaStatus.remove();
-        if (lista == null) {
-            lista = new ArrayList<>();
+        Collector collector = CURRENT.get();
+        if (collector == null) {
+            return List.of();
+        }
+        if (collector.traceId == null) {
+            // no request owns this collector, nothing else will remove it
+            CURRENT.remove();
         }
+        return collector.drain();
+    }
+
+    /**
+     * Trace id of the current request, null outside a request.
+     */
+    public static String currentTraceId() {
+        Collector collector = CURRENT.get();
+        return collector == null ? null : collector.traceId;
+    }
 
-        return lista;
+    /**
+     * Binds a fresh collector to the calling thread for one request.
+     */
+    public static void open(String traceId) {
+        CURRENT.set(new Collector(traceId));
     }
 
-    private static void logTrace(ServerStatus ms) {
-        log.info("Trace ID = " + ms);
+    public static void close() {
+        CURRENT.remove();
     }
 
+    /**
+     * Wraps a task so it runs with the collector of the calling thread; the
+     * worker's own binding is restored afterwards.
+     */
+    public static Runnable propagate(Runnable task) {
+        Collector captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Collector previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Shared by the request thread and the tasks it hands off, hence the
+     * locking; draining an empty collector, the common case, takes no lock.
+     */
+    private static final class Collector {
+
+        private final String traceId;
+        private volatile ServerErrorEnum first;
+        private List<ServerErrorEnum> more;
+
+        private Collector(String traceId) {
+            this.traceId = traceId;
+        }
+
+        synchronized void add(ServerErrorEnum error) {
+            if (first == null) {
+                first = error;
+                return;
+            }
+            if (more == null) {
+                more = new ArrayList<>(2);
+            }
+            more.add(error);
+        }
+
+        List<ServerStatus> drain() {
+            if (first == null) {
+                return List.of();
+            }
+            synchronized (this) {
+                return drainLocked();
+            }
+        }
+
+        private List<ServerStatus> drainLocked() {
+            if (first == null) {
+                return List.of();
+            }
+            List<ServerStatus> statuses = new ArrayList<>(more == null ? 1 : more.size() + 1);
+            statuses.add(ServerStatus.of(first, traceId));
+            if (more != null) {
+                more.forEach(error -> statuses.add(ServerStatus.of(error, traceId)));
+            }
+            first = null;
+            more = null;
+            return statuses;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package al.polis.appserver.communication;
 
+import al.polis.appserver.exception.DomainException;
 import lombok.Data;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -7,6 +8,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
 @Data
 @ToString
 @Slf4j
@@ -30,9 +36,49 @@ public class Pagination {
         this.sort = sort;
     }
 
-    // TODO: implementare generazione Sort
-    public Sort toSort() {
-        throw new UnsupportedOperationException("La generazione del Sort non è ancora stata implementata");
+    /**
+     * Builds the Sort requested by the client, accepting only the field
+     * combinations listed in sortKeys, each backed by a composite index. The
+     * id is appended as a tie-breaker so that pages are stable and ORDER BY
+     * fields..., id is served by the (fields..., id) index of the key,
+     * scanned backwards for DESC.
+     * <p>
+     * Anything an index cannot serve is rejected rather than ignored: other
+     * combinations, mixed or unknown directions, ignoreCase (lower() on the
+     * column) and explicit null ordering (emulated with a CASE expression on
+     * MySQL).
+     */
+    public Sort toSort(Set<List<String>> sortKeys) {
+        if (sort == null || sort.length == 0) {
+            return Sort.by("id");
+        }
+        List<String> fields = new ArrayList<>();
+        Sort.Direction direction = null;
+        for (Sorting sorting : sort) {
+            if (sorting == null || Boolean.TRUE.equals(sorting.getIgnoreCase())
+                    || !isNativeNullHandling(sorting.getNullHandling())) {
+                throw notAllowed();
+            }
+            Sort.Direction current = toDirection(sorting.getDirection());
+            if (direction != null && direction != current) {
+                throw notAllowed();
+            }
+            direction = current;
+            fields.add(sorting.getField());
+        }
+        if (!sortKeys.contains(fields)) {
+            throw notAllowed();
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String field : fields) {
+            orders.add(new Sort.Order(direction, field));
+        }
+        orders.add(new Sort.Order(direction, "id"));
+        return Sort.by(orders);
+    }
+
+    public Pageable toPageable(Set<List<String>> sortKeys) {
+        return PageRequest.of(pageNumber, pageSize, toSort(sortKeys));
     }
 
     public Pageable toPageable() {
@@ -40,4 +86,21 @@ public class Pagination {
         Pageable pag = PageRequest.of(pageNumber, pageSize);
         return pag;
     }
+
+    private DomainException notAllowed() {
+        return new DomainException(ServerErrorEnum.SORT_NOT_ALLOWED, "Sort not allowed " + Arrays.toString(sort));
+    }
+
+    // blank means ASC; anything else but ASC/DESC is refused, not defaulted
+    private Sort.Direction toDirection(String direction) {
+        if (direction == null || direction.isBlank()) {
+            return Sort.Direction.ASC;
+        }
+        return Sort.Direction.fromOptionalString(direction.trim()).orElseThrow(this::notAllowed);
+    }
+
+    private static boolean isNativeNullHandling(String nullHandling) {
+        return nullHandling == null || nullHandling.isEmpty()
+                || Sort.NullHandling.NATIVE.name().equalsIgnoreCase(nullHandling);
+    }
 }
@@ -1,22 +1,24 @@
 package al.polis.appserver.communication;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Slice;
 
 import java.util.Collections;
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 public class RespSliceDto<T> extends ResponseWithStatusDto {
-    
-    private Slice<T> slice;
-    
+
+    private SliceDto<T> slice;
+
     public RespSliceDto(Slice<T> slice) {
-        this.slice = slice;
+        this.slice = SliceDto.of(slice);
         setStatus(Collections.emptyList());
     }
     public RespSliceDto(Slice<T> slice, List<ServerStatus> status) {
-        this.slice = slice;
+        this.slice = SliceDto.of(slice);
         setStatus(status);
     }
 }
@@ -1,55 +1,148 @@
 package al.polis.appserver.communication;
 
 import lombok.Getter;
+import org.springframework.http.HttpStatus;
 
 @Getter
 public enum ServerErrorEnum {
 
     OK("Success!",
             "",
-            ErrorSeverityEnum.OK),
+            ErrorSeverityEnum.OK,
+            HttpStatus.OK),
     UNKNOWN_ERROR("Unknown Error!",
             "Contact technical support",
-            ErrorSeverityEnum.FATAL),
+            ErrorSeverityEnum.FATAL,
+            HttpStatus.INTERNAL_SERVER_ERROR),
+    REQUEST_INVALID("Request could not be read!",
+            "Check the request body",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.BAD_REQUEST),
+    // answered with the status Spring MVC assigns (404, 405, 400, ...)
+    REQUEST_REJECTED("Request was rejected!",
+            "Check the path, the method and the parameters",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.BAD_REQUEST),
     TEACHER_MISSING("Teacher is missing or incomplete!",
             "Enter all required data",
-            ErrorSeverityEnum.ERROR),
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.BAD_REQUEST),
     COURSE_MISSING("Course is missing or incomplete!",
             "Enter all required data",
-            ErrorSeverityEnum.ERROR),
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.BAD_REQUEST),
     COURSE_NOT_FOUND("Course id has not been found.",
             "Check the id.",
-            ErrorSeverityEnum.ERROR),
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.NOT_FOUND),
     TEACHER_NOT_FOUND("Teacher id has not been found.",
             "Check the id.",
-            ErrorSeverityEnum.ERROR),
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.NOT_FOUND),
     STUDENT_NOT_FOUND("Student id has not been found.",
             "Check the id.",
-            ErrorSeverityEnum.ERROR),
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.NOT_FOUND),
     FILTER_MISSING("Filter is missing or incomplete!",
             "Enter all required data to filter",
-            ErrorSeverityEnum.ERROR),
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.BAD_REQUEST),
     STUDENT_MISSING("Student is missing or incomplete!",
             "Enter all required data",
-            ErrorSeverityEnum.ERROR),
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.BAD_REQUEST),
+    ENROLLMENT_MISSING("Enrollment is missing or incomplete!",
+            "Enter the student and the course",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.BAD_REQUEST),
+    ENROLLMENT_TERM_INVALID("Enrollment term is too long!",
+            "Enter a term of at most 16 characters",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.BAD_REQUEST),
+    ENROLLMENT_NOT_FOUND("Enrollment has not been found.",
+            "Check the student, the course and the term.",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.NOT_FOUND),
+    ID_LIST_INVALID("Id list is missing, empty or too long!",
+            "Send between 1 and 500 ids",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.BAD_REQUEST),
+    BATCH_INVALID("Batch is missing, empty or too long!",
+            "Send between 1 and 100 operations",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.BAD_REQUEST),
+    BATCH_OPERATION_INVALID("Batch operation, payload or reference is invalid!",
+            "Check the operation name, its payload and the referenced results",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.BAD_REQUEST),
+    BATCH_ROLLED_BACK("An operation failed and the batch has been rolled back.",
+            "Fix the failed operation and send the batch again",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.UNPROCESSABLE_ENTITY),
+    DASHBOARD_UNAVAILABLE("The dashboard could not be assembled in time!",
+            "Try again later",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.SERVICE_UNAVAILABLE),
+    ENDPOINT_BUSY("Too many requests of this kind are in progress!",
+            "Try again shortly",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.SERVICE_UNAVAILABLE),
+    QUERY_TIMEOUT("The query took too long and has been cancelled!",
+            "Narrow the filter or try again later",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.SERVICE_UNAVAILABLE),
+    DATABASE_SATURATED("The database is overloaded, requests of this kind are paused!",
+            "Try again in a few seconds",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.SERVICE_UNAVAILABLE),
+    SERVER_OVERLOADED("The server is overloaded and has not accepted the request!",
+            "Try again after the Retry-After delay",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.SERVICE_UNAVAILABLE),
+    RECORDING_ALREADY_RUNNING("A flight recording is already running.",
+            "Stop or dump the running recording first",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.CONFLICT),
+    RECORDING_NOT_RUNNING("No flight recording has been started.",
+            "Start a recording first",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.CONFLICT),
+    RECORDING_SETTINGS_INVALID("Flight recording settings are invalid!",
+            "Use the default or profile settings and positive limits",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.BAD_REQUEST),
+    RECORDING_FAILED("The flight recording could not be written.",
+            "Check the server log and the recording directory",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.INTERNAL_SERVER_ERROR),
+    SORT_NOT_ALLOWED("Sorting is not allowed on the requested field!",
+            "Sort only on the documented fields",
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.BAD_REQUEST),
     DELETE_COURSE_NOT_ALLOWED("The course has relationships and cannot be deleted.",
             "Remove relationships to delete the course",
-            ErrorSeverityEnum.ERROR),
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.CONFLICT),
     DELETE_TEACHER_NOT_ALLOWED("The teacher has relationships and cannot be deleted.",
             "Remove relationships to delete the teacher",
-            ErrorSeverityEnum.ERROR),
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.CONFLICT),
     DELETE_STUDENT_NOT_ALLOWED("The student has relationships and cannot be deleted.",
             "Remove relationships to delete the student",
-            ErrorSeverityEnum.ERROR);
+            ErrorSeverityEnum.ERROR,
+            HttpStatus.CONFLICT);
 
     private final String message;
     private final String action;
     private final ErrorSeverityEnum severity;
+    // response code when a request fails with this error
+    private final HttpStatus httpStatus;
 
-    private ServerErrorEnum(String message, String action, ErrorSeverityEnum severity) {
+    private ServerErrorEnum(String message, String action, ErrorSeverityEnum severity, HttpStatus httpStatus) {
         this.message = message;
         this.action = action;
         this.severity = severity;
+        this.httpStatus = httpStatus;
     }
 
 }
@@ -1,32 +1,41 @@
 package al.polis.appserver.communication;
 
-import lombok.Data;
-import lombok.extern.slf4j.Slf4j;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
-import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
 
-@Data
-@Slf4j
+/**
+ * Immutable, so the untraced status of every ServerErrorEnum is built once
+ * and shared; statuses raised during a request are built when the response
+ * is written and carry that request's trace id.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
 public class ServerStatus {
 
-    private ServerErrorEnum code;
-    private ErrorSeverityEnum severity;
-    private String message;
-    private String action;
-    private String helpReference;
-    private String traceId = "Java - Trace ID Not Available";
+    public static final String NO_TRACE_ID = "Java - Trace ID Not Available";
 
-    public ServerStatus(ServerErrorEnum code, ErrorSeverityEnum severity, String message, String action) {
-        this.code = code;
-        this.severity = severity;
-        this.message = message;
-        this.action = action;
-        helpReference = "";
-        populateTraceId();
+    private static final Map<ServerErrorEnum, ServerStatus> UNTRACED = new EnumMap<>(ServerErrorEnum.class);
+
+    static {
+        for (ServerErrorEnum error : ServerErrorEnum.values()) {
+            UNTRACED.put(error, new ServerStatus(error, NO_TRACE_ID));
+        }
     }
 
-    private void populateTraceId() {
-        traceId = Long.toHexString(Instant.now().toEpochMilli());
+    private final ServerErrorEnum code;
+    private final ErrorSeverityEnum severity;
+    private final String message;
+    private final String action;
+    private final String helpReference;
+    private final String traceId;
+
+    public ServerStatus(ServerErrorEnum code, ErrorSeverityEnum severity, String message, String action) {
+        this(code, severity, message, action, "");
     }
 
     public ServerStatus(ServerErrorEnum code, ErrorSeverityEnum severity, String message, String action, String helpReference) {
@@ -35,22 +44,39 @@ public class ServerStatus {
         this.message = message;
         this.action = action;
         this.helpReference = helpReference;
-        populateTraceId();
+        this.traceId = traceIdOrDefault(ErrorContext.currentTraceId());
     }
 
     public ServerStatus(ServerErrorEnum error) {
+        this(error, traceIdOrDefault(ErrorContext.currentTraceId()));
+    }
+
+    private ServerStatus(ServerErrorEnum error, String traceId) {
+        this.code = error;
         this.severity = error.getSeverity();
         this.message = error.getMessage();
         this.action = error.getAction();
-        populateTraceId();
+        this.helpReference = "";
+        this.traceId = traceId;
+    }
+
+    /**
+     * Status of the error for the given trace; the shared instance when
+     * there is no trace id.
+     */
+    public static ServerStatus of(ServerErrorEnum error, String traceId) {
+        return traceId == null ? UNTRACED.get(error) : new ServerStatus(error, traceId);
     }
 
     public static ServerStatus createUnknownError() {
-        return new ServerStatus(ServerErrorEnum.UNKNOWN_ERROR);
+        return of(ServerErrorEnum.UNKNOWN_ERROR, ErrorContext.currentTraceId());
     }
 
     public static ServerStatus createNoError() {
-        return new ServerStatus(ServerErrorEnum.OK);
+        return of(ServerErrorEnum.OK, ErrorContext.currentTraceId());
+    }
+
+    private static String traceIdOrDefault(String traceId) {
+        return traceId == null ? NO_TRACE_ID : traceId;
     }
-    
 }
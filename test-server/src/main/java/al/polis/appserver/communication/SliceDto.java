@@ -0,0 +1,47 @@
+package al.polis.appserver.communication;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact page envelope returned by the filter endpoints.
+ * <p>
+ * Carries only what the clients read (content, page coordinates and the
+ * hasNext flag) instead of the Spring Data {@link Slice} internals, and is
+ * written by {@link SliceDtoSerializer} without reflection.
+ */
+@Getter
+@ToString
+@JsonSerialize(using = SliceDtoSerializer.class)
+public class SliceDto<T> {
+
+    private final List<T> content;
+    private final int pageNumber;
+    private final int pageSize;
+    @Getter(AccessLevel.NONE)
+    private final boolean hasNext;
+
+    public SliceDto(List<T> content, int pageNumber, int pageSize, boolean hasNext) {
+        this.content = content != null ? content : Collections.emptyList();
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.hasNext = hasNext;
+    }
+
+    public static <T> SliceDto<T> of(Slice<T> slice) {
+        if (slice == null) {
+            return null;
+        }
+        return new SliceDto<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+}
@@ -0,0 +1,55 @@
+package al.polis.appserver.communication;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a {@link SliceDto} field by field.
+ * <p>
+ * The content array is opened with its final size and the element serializer
+ * is looked up once per element class, so a page of homogeneous DTOs costs a
+ * single serializer lookup.
+ */
+public class SliceDtoSerializer extends StdSerializer<SliceDto<?>> {
+
+    @SuppressWarnings("unchecked")
+    public SliceDtoSerializer() {
+        super((Class<SliceDto<?>>) (Class<?>) SliceDto.class);
+    }
+
+    @Override
+    public void serialize(SliceDto<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value, 4);
+        gen.writeFieldName("content");
+        writeContent(value.getContent(), gen, provider);
+        gen.writeNumberField("pageNumber", value.getPageNumber());
+        gen.writeNumberField("pageSize", value.getPageSize());
+        gen.writeBooleanField("hasNext", value.hasNext());
+        gen.writeEndObject();
+    }
+
+    private void writeContent(List<?> content, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int size = content.size();
+        gen.writeStartArray(content, size);
+        Class<?> lastClass = null;
+        JsonSerializer<Object> serializer = null;
+        for (int i = 0; i < size; i++) {
+            Object element = content.get(i);
+            if (element == null) {
+                provider.defaultSerializeNull(gen);
+                continue;
+            }
+            if (element.getClass() != lastClass) {
+                lastClass = element.getClass();
+                serializer = provider.findValueSerializer(lastClass);
+            }
+            serializer.serialize(element, gen, provider);
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,38 @@
+package al.polis.appserver.config;
+
+import al.polis.appserver.resilience.AdmissionController;
+import al.polis.appserver.resilience.AdmissionInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Sheds guarded requests beyond the adaptive concurrency limit, lower
+ * priority classes first; see {@link AdmissionController}. Set
+ * {@code appserver.admission.enabled=false} to admit everything.
+ */
+@Configuration
+@ConditionalOnProperty(name = "appserver.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final AdmissionController admissionController;
+
+    public AdmissionConfig(AdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+
+    @Bean
+    public static AdmissionController admissionController(Environment environment) {
+        return new AdmissionController(environment);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // ahead of the open-in-view interceptor, so a shed request opens no EntityManager
+        registry.addInterceptor(new AdmissionInterceptor(admissionController)).order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,48 @@
+package al.polis.appserver.config;
+
+import al.polis.appserver.model.id.TsidGenerator;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Native image hints for what the application reaches on its own. Spring's
+ * AOT processing already covers the beans, the JPA entities and the request
+ * and response types of controller methods; this adds Jackson binding for
+ * every DTO and envelope (some are only built by services and the warm-up),
+ * the vendor-specific Flyway migrations, the id generator Hibernate
+ * instantiates and the connection proxy of the query timeouts. The tracing
+ * layer registers its own hints.
+ */
+public class AppserverRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<String> BINDING_PACKAGES = List.of(
+            "al.polis.appserver.dto", "al.polis.appserver.communication");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar binding = new BindingReflectionHintsRegistrar();
+        // runs at build time, so scanning the packages costs nothing in the image
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((reader, factory) -> true);
+        for (String basePackage : BINDING_PACKAGES) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                binding.registerReflectionHints(hints.reflection(),
+                        ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+            }
+        }
+
+        hints.resources().registerPattern("db/vendor/*/*.sql");
+
+        hints.reflection().registerType(TsidGenerator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        hints.proxies().registerJdkProxy(Connection.class);
+    }
+}
@@ -0,0 +1,36 @@
+package al.polis.appserver.config;
+
+import al.polis.appserver.diagnostics.ConnectionWaitTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+@Configuration
+public class DiagnosticsConfig {
+
+    @Bean
+    public static ConnectionWaitTracker connectionWaitTracker() {
+        return new ConnectionWaitTracker();
+    }
+
+    /**
+     * Hooks the wait tracker into the Hikari pool. This has to happen before
+     * the pool starts, when Hikari seals its configuration.
+     */
+    @Bean
+    public static BeanPostProcessor connectionWaitTrackerInstaller(ObjectProvider<ConnectionWaitTracker> tracker) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null
+                        && hikari.getMetricRegistry() == null) {
+                    hikari.setMetricsTrackerFactory(tracker.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package al.polis.appserver.config;
+
+import al.polis.appserver.filter.RequestContextTaskDecorator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Pool for the dashboard fan-out. Each task runs its repository call on
+     * its own pooled connection, so the size stays well below the Hikari pool
+     * (10 by default) to leave connections for regular requests. When the
+     * queue is full the calling request thread runs the task itself. Tasks
+     * keep the trace id and ErrorContext of the request that forked them.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${appserver.dashboard.pool-size:4}") int poolSize,
+            @Value("${appserver.dashboard.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+}
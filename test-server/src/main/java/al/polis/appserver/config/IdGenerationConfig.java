@@ -0,0 +1,56 @@
+package al.polis.appserver.config;
+
+import al.polis.appserver.model.id.TsidFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Slf4j
+@Configuration
+public class IdGenerationConfig {
+
+    static final String NODE_PROPERTY = "appserver.id.node";
+    // name used before the node was read through the Spring Environment
+    static final String LEGACY_NODE_VARIABLE = "APPSERVER_NODE_ID";
+
+    /**
+     * The default factory used by the entity id generators. Any property
+     * source works: application properties, -Dappserver.id.node or the
+     * APPSERVER_ID_NODE environment variable.
+     */
+    @Bean
+    public TsidFactory tsidFactory(Environment environment) {
+        TsidFactory factory = new TsidFactory(resolveNode(environment));
+        TsidFactory.setDefault(factory);
+        log.info("Id generation node = {}", factory.getNode());
+        return factory;
+    }
+
+    // The default factory is set before Hibernate can generate any id
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor tsidFactoryDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor("tsidFactory");
+    }
+
+    /**
+     * Instances sharing a database must use distinct nodes or their ids may
+     * collide. An unset node falls back to 0 with a warning; the
+     * single-instance profile sets it explicitly.
+     */
+    static int resolveNode(Environment environment) {
+        String value = environment.getProperty(NODE_PROPERTY, environment.getProperty(LEGACY_NODE_VARIABLE, ""));
+        if (value.isBlank()) {
+            log.warn("{} is not set, ids are generated as node 0. Give every instance sharing the database its own"
+                    + " node (0-{}) or run with the single-instance profile", NODE_PROPERTY, TsidFactory.MAX_NODE);
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalStateException(NODE_PROPERTY + " must be a number between 0 and " + TsidFactory.MAX_NODE
+                    + ": " + value, ex);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package al.polis.appserver.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pre-check of the V2 migration. Databases baselined from ddl-auto=update
+ * never had the natural-key constraints, so they may hold duplicates that
+ * make CREATE UNIQUE INDEX fail halfway through V2 (MySQL DDL is not
+ * transactional). The check runs before V2 starts and fails with the
+ * duplicated values, leaving the schema at 1.1 until they are cleaned up.
+ */
+@Slf4j
+@Component
+public class NaturalKeyDuplicateCheck implements Callback {
+
+    static final MigrationVersion UNIQUE_INDEXES = MigrationVersion.fromVersion("2");
+    // duplicated values reported per column
+    private static final int SAMPLE_SIZE = 5;
+
+    private static final List<NaturalKey> NATURAL_KEYS = List.of(
+            new NaturalKey("student", "serial_number"),
+            new NaturalKey("student", "email"),
+            new NaturalKey("course", "code"));
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE && context.getMigrationInfo() != null
+                && UNIQUE_INDEXES.equals(context.getMigrationInfo().getVersion());
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        List<String> duplicates = new ArrayList<>();
+        for (NaturalKey key : NATURAL_KEYS) {
+            try {
+                List<String> values = findDuplicates(context, key);
+                if (!values.isEmpty()) {
+                    duplicates.add(key.table() + "." + key.column() + " " + values);
+                }
+            } catch (SQLException ex) {
+                throw new FlywayException("Duplicate check of " + key.table() + "." + key.column() + " failed", ex);
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            throw new FlywayException("Migration " + UNIQUE_INDEXES + " cannot create its unique indexes, duplicated values"
+                    + " (count) found in " + String.join(", ", duplicates)
+                    + ". Merge or fix these rows, then start the application again.");
+        }
+        log.info("No duplicate natural keys, migration {} can create its unique indexes", UNIQUE_INDEXES);
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "naturalKeyDuplicateCheck";
+    }
+
+    private static List<String> findDuplicates(Context context, NaturalKey key) throws SQLException {
+        // table and column come from NATURAL_KEYS, never from input
+        String sql = "SELECT " + key.column() + ", COUNT(*) FROM " + key.table()
+                + " WHERE " + key.column() + " IS NOT NULL GROUP BY " + key.column()
+                + " HAVING COUNT(*) > 1 ORDER BY " + key.column() + " LIMIT " + SAMPLE_SIZE;
+        List<String> values = new ArrayList<>();
+        try (PreparedStatement statement = context.getConnection().prepareStatement(sql);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                values.add(rs.getString(1) + " (" + rs.getLong(2) + ")");
+            }
+        }
+        return values;
+    }
+
+    private record NaturalKey(String table, String column) {
+    }
+}
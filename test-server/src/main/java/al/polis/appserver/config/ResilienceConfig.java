@@ -0,0 +1,48 @@
+package al.polis.appserver.config;
+
+import al.polis.appserver.resilience.EndpointGuardPostProcessor;
+import al.polis.appserver.resilience.EndpointGuards;
+import al.polis.appserver.resilience.QueryTimeoutDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts the controllers behind per-class bulkheads and circuit breakers and
+ * gives their statements the class's query timeout, see
+ * {@link al.polis.appserver.resilience.EndpointClassEnum}. Set
+ * {@code appserver.resilience.enabled=false} to run unguarded.
+ */
+@Configuration
+@ConditionalOnProperty(name = "appserver.resilience.enabled", havingValue = "true", matchIfMissing = true)
+public class ResilienceConfig {
+
+    @Bean
+    public EndpointGuards endpointGuards(Environment environment) {
+        return new EndpointGuards(environment);
+    }
+
+    @Bean
+    public static EndpointGuardPostProcessor endpointGuardPostProcessor(ObjectProvider<EndpointGuards> endpointGuards) {
+        return new EndpointGuardPostProcessor(endpointGuards);
+    }
+
+    @Bean
+    public static BeanPostProcessor queryTimeoutDataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryTimeoutDataSource)) {
+                    return new QueryTimeoutDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package al.polis.appserver.config;
+
+import al.polis.appserver.trace.Tracer;
+import al.polis.appserver.trace.TracingBeanPostProcessor;
+import al.polis.appserver.trace.TracingJacksonHttpMessageConverter;
+import al.polis.appserver.trace.TracingRuntimeHints;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Installs span instrumentation on the controller, service, repository,
+ * mapper, JDBC and JSON layers. Whether a request is actually recorded is
+ * decided by {@code appserver.trace.sample-rate}. The same hooks emit the
+ * service, repository and JDBC flight recorder events while a recording has
+ * them enabled. Set {@code appserver.trace.enabled=false} to leave the
+ * beans uninstrumented.
+ */
+@Configuration
+@ConditionalOnProperty(name = "appserver.trace.enabled", havingValue = "true", matchIfMissing = true)
+@ImportRuntimeHints(TracingRuntimeHints.class)
+public class TracingConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Tracer> tracer;
+
+    public TracingConfig(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    // static so that registering the post-processor does not instantiate this configuration early
+    @Bean
+    public static TracingBeanPostProcessor tracingBeanPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new TracingBeanPostProcessor(tracer);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson
+                    && !(jackson instanceof TracingJacksonHttpMessageConverter)) {
+                converters.set(i, new TracingJacksonHttpMessageConverter(jackson.getObjectMapper(), tracer.getObject()));
+            }
+        }
+    }
+}
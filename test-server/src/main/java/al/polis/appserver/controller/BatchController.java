@@ -0,0 +1,35 @@
+package al.polis.appserver.controller;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.communication.RespSingleDto;
+import al.polis.appserver.dto.BatchRequestDto;
+import al.polis.appserver.dto.BatchResultDto;
+import al.polis.appserver.resilience.EndpointClass;
+import al.polis.appserver.resilience.EndpointClassEnum;
+import al.polis.appserver.service.BatchService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@CrossOrigin(origins = {"http://localhost:8100", "http://localhost:4200"}, allowCredentials = "false")
+@AllArgsConstructor
+@Slf4j
+public class BatchController {
+
+    private final BatchService batchService;
+
+    @EndpointClass(EndpointClassEnum.WRITE)
+    @PostMapping("/batch")
+    @ResponseBody
+    public ResponseEntity<RespSingleDto<BatchResultDto>> executeBatch(@RequestBody BatchRequestDto batch) {
+        log.info("Batch request received with {} operations, continueOnError={}",
+                batch == null || batch.getOperations() == null ? 0 : batch.getOperations().size(),
+                batch != null && batch.isContinueOnError());
+
+        BatchResultDto res = batchService.executeBatch(batch);
+        log.info("Batch executed. Succeeded {}, failed {}", res.getSucceeded(), res.getFailed());
+        return ResponseEntity.ok(new RespSingleDto<>(res, ErrorContext.readAndClean()));
+    }
+}
@@ -0,0 +1,82 @@
+package al.polis.appserver.controller;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.communication.RespSingleDto;
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.communication.ServerStatus;
+import al.polis.appserver.exception.DomainException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+import java.util.List;
+
+/**
+ * Single error path of all controllers. Rejected requests answer with the
+ * code of their ServerErrorEnum and one log line; only unexpected failures
+ * are logged with their stack trace. Spring MVC's own exceptions (unknown
+ * path, wrong method, unconvertible parameter, ...) keep the status the
+ * base class assigns them.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ControllerErrorAdvice extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<RespSingleDto<Void>> handleDomain(DomainException ex) {
+        log.info("Request rejected with {}: {}", ex.getError(), ex.getMessage());
+        ErrorContext.addStatusMessage(ex.getError());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(ex.getError().getHttpStatus());
+        if (ex.getRetryAfterSeconds() > 0) {
+            response.header(HttpHeaders.RETRY_AFTER, Integer.toString(ex.getRetryAfterSeconds()));
+        }
+        return response.body(new RespSingleDto<>(null, ErrorContext.readAndClean()));
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleHttpMessageNotReadable(@NonNull HttpMessageNotReadableException ex,
+                                                                  @NonNull HttpHeaders headers,
+                                                                  @NonNull HttpStatusCode status,
+                                                                  @NonNull WebRequest request) {
+        log.info("Request body rejected: {}", ex.getMostSpecificCause().getMessage());
+        ErrorContext.addStatusMessage(ServerErrorEnum.REQUEST_INVALID);
+        return ResponseEntity.badRequest()
+                .body(new RespSingleDto<>(null, ErrorContext.readAndClean()));
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(@NonNull Exception ex, Object body,
+                                                             @NonNull HttpHeaders headers,
+                                                             @NonNull HttpStatusCode statusCode,
+                                                             @NonNull WebRequest request) {
+        if (statusCode.is5xxServerError()) {
+            log.error("Unexpected error: {}", ex.getMessage(), ex);
+            return ResponseEntity.status(statusCode).headers(headers)
+                    .body(new RespSingleDto<>(null, unexpectedStatus()));
+        }
+        log.info("Request rejected with {}: {}", statusCode.value(), ex.getMessage());
+        ErrorContext.addStatusMessage(ServerErrorEnum.REQUEST_REJECTED);
+        return ResponseEntity.status(statusCode).headers(headers)
+                .body(new RespSingleDto<>(null, ErrorContext.readAndClean()));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<RespSingleDto<Void>> handleUnexpected(Exception ex) {
+        log.error("Unexpected error: {}", ex.getMessage(), ex);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new RespSingleDto<>(null, unexpectedStatus()));
+    }
+
+    private static List<ServerStatus> unexpectedStatus() {
+        List<ServerStatus> status = ErrorContext.readAndClean();
+        return status.isEmpty() ? List.of(ServerStatus.createUnknownError()) : status;
+    }
+}
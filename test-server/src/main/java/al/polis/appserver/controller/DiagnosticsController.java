@@ -0,0 +1,56 @@
+package al.polis.appserver.controller;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.communication.RespSingleDto;
+import al.polis.appserver.dto.DiagnosticsDto;
+import al.polis.appserver.dto.EndpointResourceDto;
+import al.polis.appserver.service.DiagnosticsService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Runtime diagnostics. Only mapped with {@code appserver.admin.enabled=true}.
+ */
+@RestController
+@ConditionalOnProperty(name = "appserver.admin.enabled", havingValue = "true")
+@AllArgsConstructor
+@Slf4j
+public class DiagnosticsController {
+
+    private final DiagnosticsService diagnosticsService;
+
+    @PostMapping("/admin/diagnostics")
+    @ResponseBody
+    public ResponseEntity<RespSingleDto<DiagnosticsDto>> getDiagnostics() {
+        DiagnosticsDto res = diagnosticsService.getDiagnostics();
+        return ResponseEntity.ok(new RespSingleDto<>(res, ErrorContext.readAndClean()));
+    }
+
+    @PostMapping(value = "/admin/diagnostics/threads", produces = MediaType.TEXT_PLAIN_VALUE)
+    @ResponseBody
+    public ResponseEntity<String> getThreadDump() {
+        log.info("Thread dump request received");
+        return ResponseEntity.ok(diagnosticsService.getThreadDump());
+    }
+
+    @PostMapping("/admin/diagnostics/endpoints")
+    @ResponseBody
+    public ResponseEntity<RespSingleDto<List<EndpointResourceDto>>> getEndpointResources() {
+        List<EndpointResourceDto> res = diagnosticsService.getEndpointResources();
+        return ResponseEntity.ok(new RespSingleDto<>(res, ErrorContext.readAndClean()));
+    }
+
+    @PostMapping("/admin/diagnostics/endpoints/reset")
+    @ResponseBody
+    public ResponseEntity<RespSingleDto<Void>> resetEndpointResources() {
+        log.info("Reset endpoint resource accounting request received");
+        diagnosticsService.resetEndpointResources();
+        return ResponseEntity.ok(new RespSingleDto<>(null, ErrorContext.readAndClean()));
+    }
+}
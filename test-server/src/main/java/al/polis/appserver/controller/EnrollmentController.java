@@ -0,0 +1,68 @@
+package al.polis.appserver.controller;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.communication.RespSingleDto;
+import al.polis.appserver.communication.RespSliceDto;
+import al.polis.appserver.dto.EnrollmentDto;
+import al.polis.appserver.dto.EnrollmentFilterDto;
+import al.polis.appserver.resilience.EndpointClass;
+import al.polis.appserver.resilience.EndpointClassEnum;
+import al.polis.appserver.service.EnrollmentService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@CrossOrigin(origins = {"http://localhost:8100", "http://localhost:4200"}, allowCredentials = "false")
+@AllArgsConstructor
+@Slf4j
+public class EnrollmentController {
+
+    private final EnrollmentService enrollmentService;
+
+    @EndpointClass(EndpointClassEnum.WRITE)
+    @PostMapping("/enrollment/enroll")
+    @ResponseBody
+    public ResponseEntity<RespSingleDto<EnrollmentDto>> enroll(@RequestBody EnrollmentDto enrollment) {
+        log.info("Enroll request received: {}", enrollment);
+        
+        EnrollmentDto res = enrollmentService.enroll(enrollment);
+        log.info("Student {} enrolled in course {} for term {}", res.getIdStudent(), res.getIdCourse(), res.getTerm());
+        return ResponseEntity.ok(new RespSingleDto<>(res, ErrorContext.readAndClean()));
+    }
+
+    @EndpointClass(EndpointClassEnum.WRITE)
+    @PostMapping("/enrollment/drop")
+    @ResponseBody
+    public ResponseEntity<RespSingleDto<Void>> drop(@RequestBody EnrollmentDto enrollment) {
+        log.info("Drop enrollment request received: {}", enrollment);
+        
+        enrollmentService.drop(enrollment);
+        log.info("Enrollment dropped: {}", enrollment);
+        return ResponseEntity.ok(new RespSingleDto<>(null, ErrorContext.readAndClean()));
+    }
+
+    @EndpointClass(EndpointClassEnum.SEARCH)
+    @PostMapping("/enrollment/roster")
+    @ResponseBody
+    public ResponseEntity<RespSliceDto<EnrollmentDto>> getRoster(@RequestBody EnrollmentFilterDto filter) {
+        log.info("Roster request received: {}", filter);
+        
+        Slice<EnrollmentDto> res = enrollmentService.getRoster(filter);
+        log.info("Roster retrieved successfully. Found {} enrollments", res.getContent().size());
+        return ResponseEntity.ok(new RespSliceDto<>(res, ErrorContext.readAndClean()));
+    }
+
+    @EndpointClass(EndpointClassEnum.SEARCH)
+    @PostMapping("/enrollment/schedule")
+    @ResponseBody
+    public ResponseEntity<RespSliceDto<EnrollmentDto>> getSchedule(@RequestBody EnrollmentFilterDto filter) {
+        log.info("Schedule request received: {}", filter);
+        
+        Slice<EnrollmentDto> res = enrollmentService.getSchedule(filter);
+        log.info("Schedule retrieved successfully. Found {} enrollments", res.getContent().size());
+        return ResponseEntity.ok(new RespSliceDto<>(res, ErrorContext.readAndClean()));
+    }
+}
@@ -0,0 +1,67 @@
+package al.polis.appserver.controller;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.communication.RespSingleDto;
+import al.polis.appserver.dto.FlightRecordingDto;
+import al.polis.appserver.dto.FlightRecordingStartDto;
+import al.polis.appserver.service.FlightRecordingService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+
+/**
+ * Starts, stops and downloads in-process flight recordings, to be opened in
+ * JDK Mission Control. Only mapped with {@code appserver.admin.enabled=true}.
+ */
+@RestController
+@ConditionalOnProperty(name = "appserver.admin.enabled", havingValue = "true")
+@AllArgsConstructor
+@Slf4j
+public class FlightRecordingController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    @PostMapping("/admin/jfr/start")
+    @ResponseBody
+    public ResponseEntity<RespSingleDto<FlightRecordingDto>> start(
+            @RequestBody(required = false) FlightRecordingStartDto request) {
+        log.info("Start flight recording request received: {}", request);
+        FlightRecordingDto res = flightRecordingService.start(request);
+        return ResponseEntity.ok(new RespSingleDto<>(res, ErrorContext.readAndClean()));
+    }
+
+    @PostMapping("/admin/jfr/stop")
+    @ResponseBody
+    public ResponseEntity<RespSingleDto<FlightRecordingDto>> stop() {
+        log.info("Stop flight recording request received");
+        FlightRecordingDto res = flightRecordingService.stop();
+        return ResponseEntity.ok(new RespSingleDto<>(res, ErrorContext.readAndClean()));
+    }
+
+    @PostMapping("/admin/jfr/status")
+    @ResponseBody
+    public ResponseEntity<RespSingleDto<FlightRecordingDto>> status() {
+        FlightRecordingDto res = flightRecordingService.status();
+        return ResponseEntity.ok(new RespSingleDto<>(res, ErrorContext.readAndClean()));
+    }
+
+    @PostMapping("/admin/jfr/dump")
+    public ResponseEntity<Resource> dump() {
+        log.info("Dump flight recording request received");
+        Path file = flightRecordingService.dump();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,47 @@
+package al.polis.appserver.controller;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.communication.RespSingleDto;
+import al.polis.appserver.dto.HealthDto;
+import al.polis.appserver.service.HealthService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Probes for the load balancer and the orchestrator: 200 when up, 503 when
+ * not. Probes are polled constantly, so they do not log unless a check fails.
+ */
+@RestController
+@CrossOrigin(origins = {"http://localhost:8100", "http://localhost:4200"}, allowCredentials = "false")
+@AllArgsConstructor
+@Slf4j
+public class HealthController {
+
+    private final HealthService healthService;
+
+    @GetMapping("/health")
+    @ResponseBody
+    public ResponseEntity<String> health() {
+        return ResponseEntity.ok("Backend is running!");
+    }
+
+    @GetMapping("/health/live")
+    @ResponseBody
+    public ResponseEntity<RespSingleDto<HealthDto>> liveness() {
+        return toResponse(healthService.getLiveness());
+    }
+
+    @GetMapping("/health/ready")
+    @ResponseBody
+    public ResponseEntity<RespSingleDto<HealthDto>> readiness() {
+        return toResponse(healthService.getReadiness());
+    }
+
+    private static ResponseEntity<RespSingleDto<HealthDto>> toResponse(HealthDto health) {
+        return ResponseEntity.status(health.isUp() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new RespSingleDto<>(health, ErrorContext.readAndClean()));
+    }
+}
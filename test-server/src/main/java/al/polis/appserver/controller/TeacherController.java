@@ -5,16 +5,17 @@ import al.polis.appserver.communication.RespSingleDto;
 import al.polis.appserver.communication.RespSliceDto;
 import al.polis.appserver.dto.*;
 import al.polis.appserver.mapper.TeacherMapper;
+import al.polis.appserver.resilience.EndpointClass;
+import al.polis.appserver.resilience.EndpointClassEnum;
+import al.polis.appserver.service.TeacherDashboardService;
 import al.polis.appserver.service.TeacherService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Slice;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import al.polis.appserver.exception.TestServerRuntimeException;
 
 @RestController
 @CrossOrigin(origins = {"http://localhost:8100", "http://localhost:4200"}, allowCredentials = "false")
@@ -24,125 +25,86 @@ public class TeacherController {
 
     private final TeacherService teacherService;
     private final TeacherMapper teacherMapper;
+    private final TeacherDashboardService teacherDashboardService;
 
+    @EndpointClass(EndpointClassEnum.WRITE)
     @PostMapping("/teacher/upsert")
     @ResponseBody
     public ResponseEntity<RespSingleDto<TeacherDto>> upsertTeacher(@RequestBody TeacherDto teacher) {
         log.info("Upsert teacher request received: {}", teacher);
         
-        try {
-            // Validate input
-            if (teacher == null) {
-                log.error("Teacher is null");
-                return ResponseEntity.badRequest()
-                    .body(new RespSingleDto<>(null, ErrorContext.readAndClean()));
-            }
-            
-            TeacherDto res = teacherService.upsertTeacher(teacher);
-            log.info("Teacher upserted successfully with ID: {}", res != null ? res.getId() : "null");
-            return ResponseEntity.ok(new RespSingleDto<>(res, ErrorContext.readAndClean()));
-            
-        } catch (Exception ex) {
-            log.error("Error upserting teacher: {}", ex.getMessage(), ex);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new RespSingleDto<>(null, ErrorContext.readAndClean()));
-        }
+        TeacherDto res = teacherService.upsertTeacher(teacher);
+        log.info("Teacher upserted successfully with ID: {}", res != null ? res.getId() : "null");
+        return ResponseEntity.ok(new RespSingleDto<>(res, ErrorContext.readAndClean()));
     }
 
+    @EndpointClass(EndpointClassEnum.SEARCH)
     @PostMapping("/teacher/filter")
     @ResponseBody
     public ResponseEntity<RespSliceDto<TeacherDto>> filterTeachers(@RequestBody SimpleStringFilterDto filter) {
         log.info("Filter teachers request received: {}", filter);
         
-        try {
-            // Validate input
-            if (filter == null) {
-                log.error("Filter is null");
-                return ResponseEntity.badRequest()
-                    .body(new RespSliceDto<>(null, ErrorContext.readAndClean()));
-            }
-            
-            if (filter.getPagination() == null) {
-                log.error("Pagination is null in filter");
-                return ResponseEntity.badRequest()
-                    .body(new RespSliceDto<>(null, ErrorContext.readAndClean()));
-            }
-            
-            Slice<TeacherDto> res = teacherService.filterTeachers(filter);
-            log.info("Teachers filtered successfully. Found {} teachers", 
-                res != null ? res.getContent().size() : 0);
-            return ResponseEntity.ok(new RespSliceDto<>(res, ErrorContext.readAndClean()));
-            
-        } catch (Exception ex) {
-            log.error("Error filtering teachers: {}", ex.getMessage(), ex);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new RespSliceDto<>(null, ErrorContext.readAndClean()));
-        }
+        Slice<TeacherDto> res = teacherService.filterTeachers(filter);
+        log.info("Teachers filtered successfully. Found {} teachers", 
+            res != null ? res.getContent().size() : 0);
+        return ResponseEntity.ok(new RespSliceDto<>(res, ErrorContext.readAndClean()));
     }
 
+    @EndpointClass(EndpointClassEnum.SEARCH)
+    @PostMapping("/teacher/search")
+    @ResponseBody
+    public ResponseEntity<RespSliceDto<TeacherDto>> searchTeachers(@RequestBody StructuredFilterDto filter) {
+        log.info("Search teachers request received: {}", filter);
+        
+        Slice<TeacherDto> res = teacherService.searchTeachers(filter);
+        log.info("Teachers searched successfully. Found {} teachers", res.getContent().size());
+        return ResponseEntity.ok(new RespSliceDto<>(res, ErrorContext.readAndClean()));
+    }
+
+    @EndpointClass(EndpointClassEnum.WRITE)
+    @PostMapping("/teacher/bulkDelete")
+    @ResponseBody
+    public ResponseEntity<RespSingleDto<BulkDeleteResultDto>> bulkDeleteTeachers(@RequestBody LongIdListDto ids) {
+        log.info("Bulk delete teachers request received: {}", ids);
+        
+        BulkDeleteResultDto res = teacherService.bulkDeleteTeachers(ids);
+        log.info("Teachers bulk delete done. Deleted {}, refused {}, not found {}",
+                res.getDeleted().size(), res.getRefused().size(), res.getNotFound().size());
+        return ResponseEntity.ok(new RespSingleDto<>(res, ErrorContext.readAndClean()));
+    }
+
+    @EndpointClass(EndpointClassEnum.WRITE)
     @DeleteMapping("/teacher/{id}")
     public ResponseEntity<RespSingleDto<Void>> deleteTeacher(@PathVariable Long id) {
         log.info("Delete teacher request received for ID: {}", id);
         
-        try {
-            // Validate input
-            if (id == null) {
-                log.error("Teacher ID is null");
-                return ResponseEntity.badRequest()
-                    .body(new RespSingleDto<>(null, ErrorContext.readAndClean()));
-            }
-            
-            LongIdDto teacherId = new LongIdDto();
-            teacherId.setId(id);
-            
-            teacherService.deleteTeacher(teacherId);
-            log.info("Teacher deleted successfully with ID: {}", id);
-            return ResponseEntity.ok(new RespSingleDto<>(null, ErrorContext.readAndClean()));
-            
-        } catch (TestServerRuntimeException ex) {
-            log.error("Business logic error deleting teacher: {}", ex.getMessage());
-            
-            // Check the specific error type and return appropriate HTTP status
-            if (ex.getMessage().contains("not found")) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new RespSingleDto<>(null, ErrorContext.readAndClean()));
-            } else if (ex.getMessage().contains("cannot be deleted") || 
-                       ex.getMessage().contains("has courses")) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(new RespSingleDto<>(null, ErrorContext.readAndClean()));
-            } else {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new RespSingleDto<>(null, ErrorContext.readAndClean()));
-            }
-            
-        } catch (Exception ex) {
-            log.error("Unexpected error deleting teacher: {}", ex.getMessage(), ex);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new RespSingleDto<>(null, ErrorContext.readAndClean()));
-        }
+        LongIdDto teacherId = new LongIdDto();
+        teacherId.setId(id);
+        
+        teacherService.deleteTeacher(teacherId);
+        log.info("Teacher deleted successfully with ID: {}", id);
+        return ResponseEntity.ok(new RespSingleDto<>(null, ErrorContext.readAndClean()));
     }
 
+    @EndpointClass(EndpointClassEnum.GET)
     @PostMapping("/teacher/get")
     @ResponseBody
     public ResponseEntity<RespSingleDto<TeacherDto>> getTeacher(@RequestBody LongIdDto teacherId) {
         log.info("Get teacher request received: {}", teacherId);
         
-        try {
-            // Validate input
-            if (teacherId == null || teacherId.getId() == null) {
-                log.error("Teacher ID is null");
-                return ResponseEntity.badRequest()
-                    .body(new RespSingleDto<>(null, ErrorContext.readAndClean()));
-            }
-            
-            TeacherDto res = teacherService.getTeacher(teacherId);
-            log.info("Teacher retrieved successfully with ID: {}", teacherId.getId());
-            return ResponseEntity.ok(new RespSingleDto<>(res, ErrorContext.readAndClean()));
-            
-        } catch (Exception ex) {
-            log.error("Error getting teacher: {}", ex.getMessage(), ex);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new RespSingleDto<>(null, ErrorContext.readAndClean()));
-        }
+        TeacherDto res = teacherService.getTeacher(teacherId);
+        log.info("Teacher retrieved successfully with ID: {}", teacherId.getId());
+        return ResponseEntity.ok(new RespSingleDto<>(res, ErrorContext.readAndClean()));
+    }
+
+    @EndpointClass(EndpointClassEnum.SEARCH)
+    @PostMapping("/teacher/dashboard")
+    @ResponseBody
+    public ResponseEntity<RespSingleDto<TeacherDashboardDto>> getTeacherDashboard(@RequestBody LongIdDto teacherId) {
+        log.info("Teacher dashboard request received: {}", teacherId);
+        
+        TeacherDashboardDto res = teacherDashboardService.getTeacherDashboard(teacherId);
+        log.info("Teacher dashboard assembled for ID: {} with {} courses", teacherId.getId(), res.getCourses().size());
+        return ResponseEntity.ok(new RespSingleDto<>(res, ErrorContext.readAndClean()));
     }
 }
@@ -0,0 +1,76 @@
+package al.polis.appserver.diagnostics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari metrics tracker keeping running totals of how long callers waited
+ * for a connection, how long they held it, and how many gave up. Totals are
+ * cumulative since start; a poller derives rates from two readings.
+ */
+public class ConnectionWaitTracker implements MetricsTrackerFactory, IMetricsTracker {
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder usages = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAccumulator maxUsageMillis = new LongAccumulator(Math::max, 0);
+    private final LongAdder timeouts = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return this;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquisitions.increment();
+        acquireNanos.add(elapsedAcquiredNanos);
+        maxAcquireNanos.accumulate(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usages.increment();
+        usageMillis.add(elapsedBorrowedMillis);
+        maxUsageMillis.accumulate(elapsedBorrowedMillis);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    public long getAcquireNanos() {
+        return acquireNanos.sum();
+    }
+
+    public long getMaxAcquireNanos() {
+        return maxAcquireNanos.get();
+    }
+
+    public long getUsages() {
+        return usages.sum();
+    }
+
+    public long getUsageMillis() {
+        return usageMillis.sum();
+    }
+
+    public long getMaxUsageMillis() {
+        return maxUsageMillis.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+}
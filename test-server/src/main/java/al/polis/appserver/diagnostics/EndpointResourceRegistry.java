@@ -0,0 +1,77 @@
+package al.polis.appserver.diagnostics;
+
+import al.polis.appserver.dto.EndpointResourceDto;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Allocated bytes and CPU time of the measured requests, summed per
+ * controller handler. The keys are bounded by the number of handler methods
+ * (plus one for unmapped requests), so the map never needs eviction.
+ */
+@Component
+public class EndpointResourceRegistry {
+
+    public static final String UNMAPPED = "unmapped";
+
+    private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+
+    public void record(String handler, long allocatedBytes, long cpuNanos, long wallNanos) {
+        totals.computeIfAbsent(handler, h -> new Totals()).add(allocatedBytes, cpuNanos, wallNanos);
+    }
+
+    /**
+     * Handlers by total allocated bytes, largest first.
+     */
+    public List<EndpointResourceDto> snapshot() {
+        return totals.entrySet().stream()
+                .map(e -> e.getValue().toDto(e.getKey()))
+                .sorted(Comparator.comparingLong(EndpointResourceDto::getAllocatedBytesTotal).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        totals.clear();
+    }
+
+    private static final class Totals {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAccumulator maxAllocatedBytes = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator maxCpuNanos = new LongAccumulator(Math::max, 0);
+
+        void add(long allocated, long cpu, long wall) {
+            requests.increment();
+            allocatedBytes.add(allocated);
+            cpuNanos.add(cpu);
+            wallNanos.add(wall);
+            maxAllocatedBytes.accumulate(allocated);
+            maxCpuNanos.accumulate(cpu);
+        }
+
+        EndpointResourceDto toDto(String handler) {
+            long count = requests.sum();
+            long allocated = allocatedBytes.sum();
+            long cpu = cpuNanos.sum();
+            EndpointResourceDto dto = new EndpointResourceDto();
+            dto.setHandler(handler);
+            dto.setRequests(count);
+            dto.setAllocatedBytesTotal(allocated);
+            dto.setAllocatedBytesPerRequest(count == 0 ? 0 : allocated / count);
+            dto.setAllocatedBytesMax(maxAllocatedBytes.get());
+            dto.setCpuMicrosTotal(cpu / 1_000);
+            dto.setCpuMicrosPerRequest(count == 0 ? 0 : cpu / count / 1_000);
+            dto.setCpuMicrosMax(maxCpuNanos.get() / 1_000);
+            dto.setWallMicrosPerRequest(count == 0 ? 0 : wallNanos.sum() / count / 1_000);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+import java.util.Map;
+
+@Data
+@ToString
+public class AdmissionDiagnosticsDto {
+
+    // current adaptive concurrency limit and guarded requests in flight
+    private int limit;
+    private int inFlight;
+    // latency baseline and latest window average the limit is computed from
+    private long longRttMicros;
+    private long lastWindowRttMicros;
+    // shed requests per endpoint class, cumulative since start
+    private Map<String, Long> rejected;
+}
@@ -0,0 +1,18 @@
+package al.polis.appserver.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+import lombok.ToString;
+
+/**
+ * One operation of a batch. String values of the form {@code "$2.id"} in the
+ * payload are replaced by the field of the result of operation 2, so a batch
+ * can use the id of a course it has just created.
+ */
+@Data
+@ToString
+public class BatchOperationDto {
+
+    private BatchOperationEnum op;
+    private JsonNode payload;
+}
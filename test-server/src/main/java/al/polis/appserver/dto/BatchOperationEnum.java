@@ -0,0 +1,33 @@
+package al.polis.appserver.dto;
+
+import lombok.Getter;
+
+/**
+ * Operations accepted by the batch endpoint, each mapped onto one existing
+ * service method and carrying the type its JSON payload is read as.
+ */
+@Getter
+public enum BatchOperationEnum {
+
+    UPSERT_STUDENT(StudentDto.class),
+    DELETE_STUDENT(LongIdDto.class),
+    GET_STUDENT(LongIdDto.class),
+    ASSOCIATE_STUDENT_TO_COURSE(CourseStudentAssocDto.class),
+    REMOVE_STUDENT_FROM_COURSE(CourseStudentAssocDto.class),
+    UPSERT_TEACHER(TeacherDto.class),
+    DELETE_TEACHER(LongIdDto.class),
+    GET_TEACHER(LongIdDto.class),
+    UPSERT_COURSE(CourseDto.class),
+    DELETE_COURSE(LongIdDto.class),
+    GET_COURSE(LongIdDto.class),
+    ASSOCIATE_TEACHER_TO_COURSE(CourseTeacherAssocDto.class),
+    REMOVE_TEACHER_FROM_COURSE(CourseTeacherAssocDto.class),
+    ENROLL_STUDENT(EnrollmentDto.class),
+    DROP_ENROLLMENT(EnrollmentDto.class);
+
+    private final Class<?> payloadType;
+
+    BatchOperationEnum(Class<?> payloadType) {
+        this.payloadType = payloadType;
+    }
+}
@@ -0,0 +1,16 @@
+package al.polis.appserver.dto;
+
+import al.polis.appserver.communication.ServerStatus;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchOperationResultDto {
+
+    private int index;
+    private BatchOperationEnum op;
+    private BatchOutcomeEnum outcome;
+    private Object result;
+    private List<ServerStatus> status;
+}
@@ -0,0 +1,12 @@
+package al.polis.appserver.dto;
+
+public enum BatchOutcomeEnum {
+    // applied and committed
+    SUCCEEDED,
+    // the operation itself failed
+    FAILED,
+    // ran, but the whole batch was rolled back afterwards
+    ROLLED_BACK,
+    // not run because an earlier operation failed
+    SKIPPED
+}
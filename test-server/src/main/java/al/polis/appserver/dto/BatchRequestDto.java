@@ -0,0 +1,16 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@ToString
+public class BatchRequestDto {
+
+    // false: all operations in one transaction, stop at the first failure
+    // true: every operation in its own transaction, failures are reported and skipped
+    private boolean continueOnError;
+    private List<BatchOperationDto> operations;
+}
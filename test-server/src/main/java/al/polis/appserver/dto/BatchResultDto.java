@@ -0,0 +1,13 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchResultDto {
+
+    private int succeeded;
+    private int failed;
+    private List<BatchOperationResultDto> results;
+}
@@ -0,0 +1,15 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@ToString
+public class BulkDeleteResultDto {
+
+    private List<Long> deleted;
+    private List<Long> refused;
+    private List<Long> notFound;
+}
@@ -0,0 +1,20 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@ToString
+public class DiagnosticsDto {
+
+    private Instant timestamp;
+    private PoolDiagnosticsDto pool;
+    private AdmissionDiagnosticsDto admission;
+    private List<EndpointGuardDto> endpointGuards;
+    private QueryCacheDiagnosticsDto queryCache;
+    private HibernateDiagnosticsDto hibernate;
+    private JvmDiagnosticsDto jvm;
+}
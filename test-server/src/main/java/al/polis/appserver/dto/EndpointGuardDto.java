@@ -0,0 +1,19 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+@Data
+@ToString
+public class EndpointGuardDto {
+
+    private String endpointClass;
+    private int maxConcurrent;
+    private int inUse;
+    private int waiting;
+    // cumulative since start
+    private long bulkheadRejected;
+    private String circuitState;
+    private long circuitRejected;
+    private int queryTimeoutSeconds;
+}
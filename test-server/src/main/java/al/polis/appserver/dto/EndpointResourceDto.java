@@ -0,0 +1,20 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+@Data
+@ToString
+public class EndpointResourceDto {
+
+    // Controller.method, or "unmapped"
+    private String handler;
+    private long requests;
+    private long allocatedBytesTotal;
+    private long allocatedBytesPerRequest;
+    private long allocatedBytesMax;
+    private long cpuMicrosTotal;
+    private long cpuMicrosPerRequest;
+    private long cpuMicrosMax;
+    private long wallMicrosPerRequest;
+}
@@ -0,0 +1,18 @@
+package al.polis.appserver.dto;
+
+import al.polis.appserver.model.EnrollmentStatusEnum;
+import lombok.Data;
+
+@Data
+public class EnrollmentDto {
+    private Long id;
+    private Long idStudent;
+    private Long idCourse;
+    // defaults to the course year when enrolling
+    private String term;
+    private EnrollmentStatusEnum status;
+    // filled on roster pages
+    private StudentDto student;
+    // filled on schedule pages
+    private CourseDto course;
+}
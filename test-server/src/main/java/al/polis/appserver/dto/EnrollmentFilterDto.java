@@ -0,0 +1,22 @@
+package al.polis.appserver.dto;
+
+import al.polis.appserver.communication.Pagination;
+import al.polis.appserver.model.EnrollmentStatusEnum;
+import lombok.Data;
+import lombok.ToString;
+
+/**
+ * Roster (by idCourse) or schedule (by idStudent) page request. Pages are
+ * always ordered by the other side's id, in index order, so sorting is not
+ * accepted.
+ */
+@Data
+@ToString
+public class EnrollmentFilterDto {
+    private Long idCourse;
+    private Long idStudent;
+    private String term;
+    // ACTIVE when missing
+    private EnrollmentStatusEnum status;
+    private Pagination pagination;
+}
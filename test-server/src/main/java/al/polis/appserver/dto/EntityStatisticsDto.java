@@ -0,0 +1,16 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+@Data
+@ToString
+public class EntityStatisticsDto {
+
+    private String entity;
+    private long loadCount;
+    private long fetchCount;
+    private long insertCount;
+    private long updateCount;
+    private long deleteCount;
+}
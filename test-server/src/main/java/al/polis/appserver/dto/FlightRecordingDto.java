@@ -0,0 +1,21 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Data
+@ToString
+public class FlightRecordingDto {
+
+    private long id;
+    private String name;
+    private String state;
+    private String settings;
+    private Instant startTime;
+    private Instant stopTime;
+    private long size;
+    // last file the recording was dumped to, on the server
+    private String file;
+}
@@ -0,0 +1,14 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+@Data
+@ToString
+public class FlightRecordingStartDto {
+
+    // JDK settings file: "default" (about 1% overhead) or "profile" (about 2%, adds allocation and lock sampling)
+    private String settings;
+    private Long maxAgeSeconds;
+    private Long maxSizeMb;
+}
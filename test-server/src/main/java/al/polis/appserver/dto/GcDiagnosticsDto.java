@@ -0,0 +1,13 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+@Data
+@ToString
+public class GcDiagnosticsDto {
+
+    private String name;
+    private long collectionCount;
+    private long collectionTimeMillis;
+}
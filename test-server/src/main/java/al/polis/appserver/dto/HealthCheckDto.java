@@ -0,0 +1,17 @@
+package al.polis.appserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class HealthCheckDto {
+
+    private String name;
+    private boolean up;
+    private String detail;
+}
@@ -0,0 +1,16 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@ToString
+public class HealthDto {
+
+    private boolean up;
+    private Instant checkedAt;
+    private List<HealthCheckDto> checks;
+}
@@ -0,0 +1,31 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@ToString
+public class HibernateDiagnosticsDto {
+
+    // the counters below stay 0 unless hibernate.generate_statistics is on
+    private boolean statisticsEnabled;
+    private long sessionOpenCount;
+    private long transactionCount;
+    private long prepareStatementCount;
+    private long queryExecutionCount;
+    private long queryExecutionMaxTimeMillis;
+    private String slowestQuery;
+    private List<QueryStatisticsDto> slowestQueries;
+    private long entityLoadCount;
+    private long entityFetchCount;
+    private long collectionFetchCount;
+    private List<EntityStatisticsDto> entities;
+    private long secondLevelCacheHitCount;
+    private long secondLevelCacheMissCount;
+    private long secondLevelCachePutCount;
+    private double secondLevelCacheHitRatio;
+    private long queryCacheHitCount;
+    private long queryCacheMissCount;
+}
@@ -0,0 +1,26 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ToString
+public class JvmDiagnosticsDto {
+
+    private long uptimeMillis;
+    private int availableProcessors;
+    private double systemLoadAverage;
+    private long heapUsed;
+    private long heapCommitted;
+    private long heapMax;
+    private long nonHeapUsed;
+    private List<GcDiagnosticsDto> garbageCollectors;
+    private int threadCount;
+    private int daemonThreadCount;
+    private int peakThreadCount;
+    // thread count per Thread.State
+    private Map<String, Integer> threadStates;
+}
@@ -0,0 +1,21 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@ToString
+public class LongIdListDto {
+
+    private List<Long> ids;
+
+    public LongIdListDto() {
+    }
+
+    public LongIdListDto(List<Long> ids) {
+        this.ids = ids;
+    }
+
+}
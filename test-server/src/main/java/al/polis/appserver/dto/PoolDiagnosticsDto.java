@@ -0,0 +1,26 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+@Data
+@ToString
+public class PoolDiagnosticsDto {
+
+    private String poolName;
+    private int active;
+    private int idle;
+    private int total;
+    private int maximumPoolSize;
+    private int threadsAwaitingConnection;
+    // active / maximumPoolSize
+    private double saturation;
+    private long connectionTimeoutMillis;
+    // cumulative since start
+    private long acquisitions;
+    private long acquireMicrosAverage;
+    private long acquireMicrosMax;
+    private long usageMillisAverage;
+    private long usageMillisMax;
+    private long timeouts;
+}
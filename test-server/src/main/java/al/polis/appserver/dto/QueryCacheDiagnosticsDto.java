@@ -0,0 +1,14 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+@Data
+@ToString
+public class QueryCacheDiagnosticsDto {
+
+    private int size;
+    private long hits;
+    private long misses;
+    private double hitRatio;
+}
@@ -0,0 +1,15 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.ToString;
+
+@Data
+@ToString
+public class QueryStatisticsDto {
+
+    private String query;
+    private long executionCount;
+    private long averageMillis;
+    private long maxMillis;
+    private long rows;
+}
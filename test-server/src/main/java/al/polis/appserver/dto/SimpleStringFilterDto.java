@@ -3,8 +3,25 @@ package al.polis.appserver.dto;
 import al.polis.appserver.communication.Pagination;
 import lombok.Data;
 
+import java.util.Collections;
+import java.util.List;
+
 @Data
 public class SimpleStringFilterDto {
     private String filter;
     private Pagination pagination;
+
+    /**
+     * Filter text as used for querying and caching: trimmed, never null.
+     */
+    public String normalizedFilter() {
+        return filter == null ? "" : filter.trim();
+    }
+
+    /**
+     * Additional criteria that take part in the result cache key.
+     */
+    public List<Object> criteria() {
+        return Collections.emptyList();
+    }
 }
@@ -0,0 +1,45 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Structured search criteria, compiled into JPA Specifications by the
+ * classes in {@code al.polis.appserver.repo.spec}. Every criterion is
+ * optional and they are combined with AND; the inherited free-text filter
+ * matches the same columns as the simple filter endpoints.
+ * <p>
+ * Not every criterion applies to every entity:
+ * <ul>
+ *     <li>students: serialNumberPrefix, courseId (enrolled in), teacherId,
+ *     yearFrom/yearTo (of the course they attend)</li>
+ *     <li>teachers: courseId (teaches), yearFrom/yearTo (teaches a course of
+ *     those years)</li>
+ *     <li>courses: teacherId, hasTeacher, yearFrom/yearTo</li>
+ * </ul>
+ * Criteria that do not apply are ignored.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class StructuredFilterDto extends SimpleStringFilterDto {
+    private Integer yearFrom;
+    private Integer yearTo;
+    private Long teacherId;
+    private Boolean hasTeacher;
+    private Long courseId;
+    private String serialNumberPrefix;
+
+    @Override
+    public List<Object> criteria() {
+        return Arrays.asList(yearFrom, yearTo, teacherId, hasTeacher, courseId, normalizedSerialNumberPrefix());
+    }
+
+    public String normalizedSerialNumberPrefix() {
+        return serialNumberPrefix == null ? "" : serialNumberPrefix.trim();
+    }
+}
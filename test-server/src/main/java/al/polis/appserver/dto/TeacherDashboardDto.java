@@ -0,0 +1,16 @@
+package al.polis.appserver.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class TeacherDashboardDto {
+    private TeacherDto teacher;
+    private List<CourseDto> courses;
+    // course id -> number of students attending it
+    private Map<Long, Long> enrollmentCounts;
+    // newest students in the teacher's courses, newest first
+    private List<StudentDto> recentStudents;
+}
@@ -0,0 +1,28 @@
+package al.polis.appserver.exception;
+
+import al.polis.appserver.communication.ServerErrorEnum;
+import lombok.Getter;
+
+/**
+ * Request rejected for a reason the client can fix: bad input, unknown id,
+ * forbidden delete. These are part of normal traffic, so no stack trace is
+ * captured; {@link al.polis.appserver.controller.ControllerErrorAdvice} turns
+ * the error into a ServerStatus and its HTTP code.
+ */
+@Getter
+public class DomainException extends TestServerRuntimeException {
+
+    private final ServerErrorEnum error;
+    // Retry-After hint in seconds for refusals due to load, 0 for none
+    private final int retryAfterSeconds;
+
+    public DomainException(ServerErrorEnum error, String message) {
+        this(error, message, 0);
+    }
+
+    public DomainException(ServerErrorEnum error, String message, int retryAfterSeconds) {
+        super(message, null, false, false);
+        this.error = error;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,41 @@
+package al.polis.appserver.filter;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.resilience.QueryTimeout;
+import al.polis.appserver.trace.Tracer;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+
+import java.util.Map;
+
+/**
+ * Carries the forking request's ErrorContext, logging MDC (trace id),
+ * current span and statement timeout into tasks run on executor threads, and
+ * restores the worker's own MDC afterwards.
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    @NonNull
+    public Runnable decorate(@NonNull Runnable task) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Runnable withErrorContext = ErrorContext.propagate(Tracer.propagate(QueryTimeout.propagate(task)));
+        if (mdc == null) {
+            return withErrorContext;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(mdc);
+            try {
+                withErrorContext.run();
+            } finally {
+                if (previous == null) {
+                    MDC.clear();
+                } else {
+                    MDC.setContextMap(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package al.polis.appserver.filter;
+
+import al.polis.appserver.diagnostics.EndpointResourceRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measures the bytes allocated and the CPU time used by the request thread
+ * for a share of requests ({@code appserver.diagnostics.request-sample-rate})
+ * and adds them to the {@link EndpointResourceRegistry} under the handler
+ * that served the request. Work handed to executor threads (the dashboard
+ * fan-out) is not included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class RequestResourceFilter extends OncePerRequestFilter {
+
+    private final EndpointResourceRegistry registry;
+    private final com.sun.management.ThreadMXBean threads;
+    private final double sampleRate;
+    private final boolean measureAllocations;
+    private final boolean measureCpu;
+
+    public RequestResourceFilter(EndpointResourceRegistry registry,
+                                 @Value("${appserver.diagnostics.request-sample-rate:1}") double sampleRate) {
+        this.registry = registry;
+        this.sampleRate = sampleRate;
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            this.threads = bean;
+            this.measureAllocations = bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled();
+            this.measureCpu = bean.isCurrentThreadCpuTimeSupported() && bean.isThreadCpuTimeEnabled();
+        } else {
+            this.threads = null;
+            this.measureAllocations = false;
+            this.measureCpu = false;
+        }
+        if (!measureAllocations && !measureCpu) {
+            log.warn("This JVM does not report per-thread allocation or CPU time, endpoint accounting is off");
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !measureAllocations && !measureCpu
+                || sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        long allocatedBefore = measureAllocations ? threads.getCurrentThreadAllocatedBytes() : 0;
+        long cpuBefore = measureCpu ? threads.getCurrentThreadCpuTime() : 0;
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long wall = System.nanoTime() - start;
+            long cpu = measureCpu ? threads.getCurrentThreadCpuTime() - cpuBefore : 0;
+            long allocated = measureAllocations ? threads.getCurrentThreadAllocatedBytes() - allocatedBefore : 0;
+            registry.record(handlerOf(request), allocated, cpu, wall);
+        }
+    }
+
+    private static String handlerOf(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+        }
+        return EndpointResourceRegistry.UNMAPPED;
+    }
+}
@@ -0,0 +1,93 @@
+package al.polis.appserver.filter;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.trace.Span;
+import al.polis.appserver.trace.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Gives every request a trace id: the caller's {@value #HEADER} when it is a
+ * sane token, a new random one otherwise. The id is bound to the request's
+ * ErrorContext (so it lands in every ServerStatus) and to the logging MDC
+ * under {@value #MDC_KEY}, and echoed in the response header. Requests
+ * slower than {@code appserver.trace.slow-request-millis} are logged with
+ * it, to be matched with the SQL logged under the same id. Sampled requests
+ * also get their root span here.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class TraceIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Trace-Id";
+    public static final String MDC_KEY = "traceId";
+
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final Tracer tracer;
+    private final long slowRequestNanos;
+
+    public TraceIdFilter(Tracer tracer,
+                         @Value("${appserver.trace.slow-request-millis:1000}") long slowRequestMillis) {
+        this.tracer = tracer;
+        this.slowRequestNanos = slowRequestMillis * 1_000_000;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        String traceId = traceIdOf(request.getHeader(HEADER));
+        ErrorContext.open(traceId);
+        MDC.put(MDC_KEY, traceId);
+        // set before the body is written, while headers can still change
+        response.setHeader(HEADER, traceId);
+        long start = System.nanoTime();
+        Span root = tracer.startTrace(traceId, request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (root != null) {
+                root.attribute("http.status", Integer.toString(response.getStatus()));
+                root.end();
+            }
+            long elapsed = System.nanoTime() - start;
+            if (elapsed > slowRequestNanos) {
+                log.warn("Slow request {} {} took {} ms", request.getMethod(), request.getRequestURI(),
+                        elapsed / 1_000_000);
+            }
+            MDC.remove(MDC_KEY);
+            ErrorContext.close();
+        }
+    }
+
+    static String traceIdOf(String header) {
+        return header != null && VALID.matcher(header).matches() ? header : newTraceId();
+    }
+
+    // 64 random bits as 16 hex digits: unique per request, no shared state
+    static String newTraceId() {
+        long bits = ThreadLocalRandom.current().nextLong();
+        char[] hex = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            hex[i] = Character.forDigit((int) (bits & 0xF), 16);
+            bits >>>= 4;
+        }
+        return new String(hex);
+    }
+}
@@ -4,8 +4,8 @@ import al.polis.appserver.dto.CourseDto;
 import al.polis.appserver.dto.StudentDto;
 import al.polis.appserver.dto.TeacherDto;
 import al.polis.appserver.model.Course;
-import al.polis.appserver.model.Student;
 import al.polis.appserver.model.Teacher;
+import al.polis.appserver.repo.StudentSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Mappings;
@@ -20,14 +20,11 @@ public interface CourseMapper {
 
     @Mappings({
             @Mapping(target = "teacher", expression = "java(mapTeacher(entity.getTeacher()))"),
-            @Mapping(target = "students", expression = "java(mapStudents(entity.getStudents()))")
+            @Mapping(target = "students", ignore = true)
     })
     CourseDto toDto(Course entity);
 
-    @Mappings({
-            @Mapping(target = "teacher", ignore = true),
-            @Mapping(target = "students", ignore = true)
-    })
+    @Mapping(target = "teacher", ignore = true)
     Course toEntity(CourseDto dto);
 
     List<CourseDto> toDtoList(List<Course> entities);
@@ -45,20 +42,19 @@ public interface CourseMapper {
         return dto;
     }
 
-    default List<StudentDto> mapStudents(List<Student> students) {
-        if (students == null) return null;
-        return students.stream().map(this::mapStudent).toList();
-    }
-
-    default StudentDto mapStudent(Student student) {
+    /**
+     * A roster entry; the students of a course are read from its ACTIVE
+     * enrollments, not from the entity.
+     */
+    default StudentDto mapStudentSummary(StudentSummary student) {
         if (student == null) return null;
         StudentDto dto = new StudentDto();
-        dto.setId(student.getId());
-        dto.setFirstName(student.getFirstName());
-        dto.setLastName(student.getLastName());
-        dto.setEmail(student.getEmail());
-        dto.setPhone(student.getPhone());
-        dto.setSerialNumber(student.getSerialNumber());
+        dto.setId(student.id());
+        dto.setFirstName(student.firstName());
+        dto.setLastName(student.lastName());
+        dto.setEmail(student.email());
+        dto.setPhone(student.phone());
+        dto.setSerialNumber(student.serialNumber());
         dto.setCourse(null); // Avoid circular reference
         return dto;
     }
@@ -0,0 +1,46 @@
+package al.polis.appserver.mapper;
+
+import al.polis.appserver.dto.CourseDto;
+import al.polis.appserver.dto.EnrollmentDto;
+import al.polis.appserver.dto.StudentDto;
+import al.polis.appserver.model.Enrollment;
+import al.polis.appserver.repo.CourseSummary;
+import al.polis.appserver.repo.EnrollmentRef;
+import al.polis.appserver.repo.StudentSummary;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Mappings;
+import org.mapstruct.factory.Mappers;
+
+@Mapper(componentModel = "spring")
+public interface EnrollmentMapper {
+
+    EnrollmentMapper INSTANCE = Mappers.getMapper(EnrollmentMapper.class);
+
+    @Mappings({
+            @Mapping(target = "idStudent", source = "student.id"),
+            @Mapping(target = "idCourse", source = "course.id"),
+            @Mapping(target = "student", ignore = true),
+            @Mapping(target = "course", ignore = true)
+    })
+    EnrollmentDto toDto(Enrollment entity);
+
+    @Mappings({
+            @Mapping(target = "idStudent", source = "studentId"),
+            @Mapping(target = "idCourse", source = "courseId"),
+            @Mapping(target = "student", ignore = true),
+            @Mapping(target = "course", ignore = true)
+    })
+    EnrollmentDto toDto(EnrollmentRef ref);
+
+    @Mappings({
+            @Mapping(target = "course", ignore = true)
+    })
+    StudentDto toStudentDto(StudentSummary summary);
+
+    @Mappings({
+            @Mapping(target = "teacher", ignore = true),
+            @Mapping(target = "students", ignore = true)
+    })
+    CourseDto toCourseDto(CourseSummary summary);
+}
@@ -1,12 +1,16 @@
 package al.polis.appserver.mapper;
 
 import al.polis.appserver.dto.CourseDto;
+import al.polis.appserver.dto.StudentDto;
 import al.polis.appserver.dto.TeacherDto;
 import al.polis.appserver.model.Course;
 import al.polis.appserver.model.Teacher;
+import al.polis.appserver.repo.CourseSummary;
+import al.polis.appserver.repo.StudentSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Mappings;
+import org.mapstruct.Named;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
@@ -21,6 +25,12 @@ public interface TeacherMapper {
     })
     TeacherDto toDto(Teacher entity);
 
+    @Named("withoutCourses")
+    @Mappings({
+            @Mapping(target = "courses", ignore = true)
+    })
+    TeacherDto toDtoWithoutCourses(Teacher entity);
+
     @Mappings({
             @Mapping(target = "courses", ignore = true)
     })
@@ -47,4 +57,28 @@ public interface TeacherMapper {
         dto.setStudents(null); // Avoid circular reference
         return dto;
     }
+
+    default StudentDto mapStudentSummary(StudentSummary student, CourseDto course) {
+        if (student == null) return null;
+        StudentDto dto = new StudentDto();
+        dto.setId(student.id());
+        dto.setFirstName(student.firstName());
+        dto.setLastName(student.lastName());
+        dto.setEmail(student.email());
+        dto.setPhone(student.phone());
+        dto.setSerialNumber(student.serialNumber());
+        dto.setCourse(course);
+        return dto;
+    }
+
+    default CourseDto mapCourseSummary(CourseSummary course) {
+        if (course == null) return null;
+        CourseDto dto = new CourseDto();
+        dto.setId(course.id());
+        dto.setCode(course.code());
+        dto.setTitle(course.title());
+        dto.setDescription(course.description());
+        dto.setYear(course.year());
+        return dto;
+    }
 }
@@ -1,13 +1,12 @@
 package al.polis.appserver.model;
 
+import al.polis.appserver.model.id.TsidId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
-import java.util.List;
-
 @Entity
 @Getter
 @Setter
@@ -15,7 +14,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class Course {
     @Id
-    @GeneratedValue
+    @TsidId
     private Long id;
     private String code;
     private String title;
@@ -24,7 +23,4 @@ public class Course {
 
     @ManyToOne(fetch = FetchType.EAGER)
     private Teacher teacher;
-
-    @OneToMany(mappedBy = "course", fetch = FetchType.EAGER)
-    private List<Student> students;
 }
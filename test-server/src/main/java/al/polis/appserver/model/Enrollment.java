@@ -0,0 +1,39 @@
+package al.polis.appserver.model;
+
+import al.polis.appserver.model.id.TsidId;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A student attending a course in a term. Replaces the single
+ * {@code Student.course} for students in several courses; indexes are
+ * declared in the V4 migration.
+ */
+@Entity
+@Getter
+@Setter
+@ToString
+@RequiredArgsConstructor
+public class Enrollment {
+    @Id
+    @TsidId
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    private Course course;
+
+    @Column(nullable = false, length = 16)
+    private String term;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EnrollmentStatusEnum status;
+}
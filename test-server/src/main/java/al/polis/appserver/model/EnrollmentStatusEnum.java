@@ -0,0 +1,7 @@
+package al.polis.appserver.model;
+
+public enum EnrollmentStatusEnum {
+    ACTIVE,
+    DROPPED,
+    COMPLETED
+}
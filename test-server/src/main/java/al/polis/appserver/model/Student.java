@@ -1,7 +1,7 @@
 package al.polis.appserver.model;
 
+import al.polis.appserver.model.id.TsidId;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.FetchType;
@@ -17,7 +17,7 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class Student {
     @Id
-    @GeneratedValue
+    @TsidId
     private Long id;
     private String firstName;
     private String lastName;
@@ -1,5 +1,6 @@
 package al.polis.appserver.model;
 
+import al.polis.appserver.model.id.TsidId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +16,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class Teacher {
     @Id
-    @GeneratedValue
+    @TsidId
     private Long id;
     private String firstName;
     private String lastName;
@@ -0,0 +1,83 @@
+package al.polis.appserver.model.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-sortable identifiers generated in memory, without any shared row to
+ * lock.
+ * <p>
+ * Ids are kept within 53 bits so the web and mobile clients, which parse them
+ * as JavaScript/JSON doubles, never lose precision:
+ * <pre>
+ *  41 bits  milliseconds since 2025-01-01T00:00:00Z (until 2094)
+ *   4 bits  node id (0-15), one per appserver instance
+ *   8 bits  counter, 256 ids per millisecond per node
+ * </pre>
+ * When the counter overflows, or the clock goes backwards, generation
+ * continues on the next logical millisecond, so ids stay unique and
+ * increasing on each node.
+ * <p>
+ * The node id of the default factory is configured from the
+ * {@code appserver.id.node} property by
+ * {@link al.polis.appserver.config.IdGenerationConfig}. Every instance sharing
+ * a database must use a different one.
+ */
+public class TsidFactory {
+
+    public static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    public static final int NODE_BITS = 4;
+    public static final int COUNTER_BITS = 8;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static volatile TsidFactory defaultFactory;
+
+    private final long node;
+    /** Logical millisecond and counter of the last id, packed as (millis << COUNTER_BITS) | counter. */
+    private final AtomicLong state = new AtomicLong();
+
+    public TsidFactory(int node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+    }
+
+    public static TsidFactory getDefault() {
+        TsidFactory factory = defaultFactory;
+        if (factory == null) {
+            throw new IllegalStateException("Id generation node has not been configured");
+        }
+        return factory;
+    }
+
+    /**
+     * Sets the factory used by {@link TsidGenerator}, once at startup.
+     */
+    public static void setDefault(TsidFactory factory) {
+        defaultFactory = factory;
+    }
+
+    public long getNode() {
+        return node;
+    }
+
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << COUNTER_BITS;
+        long last;
+        long next;
+        do {
+            last = state.get();
+            next = now > last ? now : last + 1;
+        } while (!state.compareAndSet(last, next));
+
+        long millis = next >>> COUNTER_BITS;
+        long counter = next & COUNTER_MASK;
+        return (millis << (NODE_BITS + COUNTER_BITS)) | (node << COUNTER_BITS) | counter;
+    }
+
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + COUNTER_BITS)) + EPOCH_MILLIS);
+    }
+}
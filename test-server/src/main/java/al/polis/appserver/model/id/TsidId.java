@@ -0,0 +1,18 @@
+package al.polis.appserver.model.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an identifier generated in memory by {@link TsidFactory} instead of a
+ * database sequence.
+ */
+@IdGeneratorType(TsidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TsidId {
+}
@@ -0,0 +1,7 @@
+package al.polis.appserver.repo;
+
+/**
+ * Number of students attending a course, computed by the database.
+ */
+public record CourseEnrollmentCount(Long courseId, Long students) {
+}
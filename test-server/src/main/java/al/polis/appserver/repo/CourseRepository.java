@@ -5,12 +5,19 @@ import al.polis.appserver.model.Student;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecificationExecutor<Course> {
+    Slice<Course> findAllBy(Pageable pageable);
+
     Slice<Course> findByCodeContainsOrTitleContainsOrDescriptionContains(
             String code,
             String title,
@@ -18,4 +25,35 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
             Pageable pageable);
             
     List<Course> findByTeacher_Id(Long teacherId);
+
+    boolean existsByTeacher_Id(Long teacherId);
+
+    /**
+     * Course summaries of all the given teachers in one statement, used to
+     * fill a page of teachers without touching each lazy course list.
+     */
+    @Query("select new al.polis.appserver.repo.CourseSummary(c.teacher.id, c.id, c.code, c.title, c.description, c.year)"
+            + " from Course c where c.teacher.id in :teacherIds order by c.id")
+    List<CourseSummary> findSummariesByTeacherIdIn(@Param("teacherIds") Collection<Long> teacherIds);
+
+    boolean existsByIdAndTeacherIsNotNull(Long id);
+
+    @Query("select new al.polis.appserver.repo.CourseSummary(t.id, c.id, c.code, c.title, c.description, c.year)"
+            + " from Course c left join c.teacher t where c.id in :ids")
+    List<CourseSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select c.id from Course c where c.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes the given courses that have no teacher, students or ACTIVE
+     * enrollments, applying the same guards as {@code deleteCourse} in one
+     * statement; their enrollment history is deleted by the cascade.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Course c where c.id in :ids and c.teacher is null"
+            + " and not exists (select s.id from Student s where s.course = c)"
+            + " and not exists (select e.id from Enrollment e where e.course = c"
+            + " and e.status = al.polis.appserver.model.EnrollmentStatusEnum.ACTIVE)")
+    int deleteUnreferencedByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,9 @@
+package al.polis.appserver.repo;
+
+/**
+ * Flat course row used when listing teachers: read through a constructor
+ * expression, so no Course entity and none of its EAGER associations are
+ * loaded.
+ */
+public record CourseSummary(Long teacherId, Long id, String code, String title, String description, Integer year) {
+}
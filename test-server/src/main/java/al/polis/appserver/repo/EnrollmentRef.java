@@ -0,0 +1,10 @@
+package al.polis.appserver.repo;
+
+import al.polis.appserver.model.EnrollmentStatusEnum;
+
+/**
+ * Enrollment row made only of columns held by the roster and schedule
+ * indexes, so reading a page of them never touches the table.
+ */
+public record EnrollmentRef(Long id, Long studentId, Long courseId, String term, EnrollmentStatusEnum status) {
+}
@@ -0,0 +1,80 @@
+package al.polis.appserver.repo;
+
+import al.polis.appserver.model.Enrollment;
+import al.polis.appserver.model.EnrollmentStatusEnum;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
+    Optional<Enrollment> findByStudent_IdAndCourse_IdAndTerm(Long studentId, Long courseId, String term);
+
+    List<Enrollment> findByStudent_IdAndCourse_IdAndStatus(Long studentId, Long courseId, EnrollmentStatusEnum status);
+
+    boolean existsByStudent_IdAndStatus(Long studentId, EnrollmentStatusEnum status);
+
+    boolean existsByCourse_IdAndStatus(Long courseId, EnrollmentStatusEnum status);
+
+    /**
+     * Students with an ACTIVE enrollment in each of the given courses, once
+     * per course whatever the number of terms; the rosters of a whole page
+     * of courses in one statement.
+     */
+    @Query("select distinct new al.polis.appserver.repo.StudentSummary(e.course.id, s.id, s.firstName, s.lastName,"
+            + " s.email, s.phone, s.serialNumber)"
+            + " from Enrollment e join e.student s where e.course.id in :courseIds"
+            + " and e.status = al.polis.appserver.model.EnrollmentStatusEnum.ACTIVE order by e.course.id, s.id")
+    List<StudentSummary> findActiveStudentsByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Students with an ACTIVE enrollment in each of the teacher's courses,
+     * counted once whatever the number of terms.
+     */
+    @Query("select new al.polis.appserver.repo.CourseEnrollmentCount(e.course.id, count(distinct e.student.id))"
+            + " from Enrollment e where e.course.teacher.id = :teacherId"
+            + " and e.status = al.polis.appserver.model.EnrollmentStatusEnum.ACTIVE group by e.course.id")
+    List<CourseEnrollmentCount> countEnrollmentsByTeacherId(@Param("teacherId") Long teacherId);
+
+    /**
+     * Students with an ACTIVE enrollment in the teacher's courses, latest
+     * enrollment first: enrollment ids are time-sortable, so ordering by id
+     * descending is ordering by enrollment time. A student enrolled in two
+     * of the courses is listed once per enrollment.
+     */
+    @Query("select new al.polis.appserver.repo.StudentSummary(e.course.id, s.id, s.firstName, s.lastName,"
+            + " s.email, s.phone, s.serialNumber)"
+            + " from Enrollment e join e.student s where e.course.teacher.id = :teacherId"
+            + " and e.status = al.polis.appserver.model.EnrollmentStatusEnum.ACTIVE order by e.id desc")
+    List<StudentSummary> findRecentByTeacherId(@Param("teacherId") Long teacherId, Pageable pageable);
+
+    /**
+     * A page of a course's roster, served by ix_enrollment_course_roster.
+     */
+    @Query("select new al.polis.appserver.repo.EnrollmentRef(e.id, e.student.id, e.course.id, e.term, e.status)"
+            + " from Enrollment e where e.course.id = :courseId and e.status = :status"
+            + " and (:term is null or e.term = :term) order by e.student.id, e.term")
+    Slice<EnrollmentRef> findRoster(@Param("courseId") Long courseId,
+                                    @Param("status") EnrollmentStatusEnum status,
+                                    @Param("term") String term,
+                                    Pageable pageable);
+
+    /**
+     * A page of a student's courses, served by ix_enrollment_student_schedule.
+     */
+    @Query("select new al.polis.appserver.repo.EnrollmentRef(e.id, e.student.id, e.course.id, e.term, e.status)"
+            + " from Enrollment e where e.student.id = :studentId and e.status = :status"
+            + " and (:term is null or e.term = :term) order by e.course.id, e.term")
+    Slice<EnrollmentRef> findSchedule(@Param("studentId") Long studentId,
+                                      @Param("status") EnrollmentStatusEnum status,
+                                      @Param("term") String term,
+                                      Pageable pageable);
+}
@@ -4,11 +4,19 @@ import al.polis.appserver.model.Student;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student> {
+    Slice<Student> findAllBy(Pageable pageable);
+
     Slice<Student> findByFirstNameContainsOrLastNameContains(
             String firstName,
             String lastName,
@@ -19,4 +27,25 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
             String lastName,
             String email,
             Pageable pageable);
+
+    boolean existsByCourse_Id(Long courseId);
+
+    @Query("select new al.polis.appserver.repo.StudentSummary(c.id, s.id, s.firstName, s.lastName,"
+            + " s.email, s.phone, s.serialNumber)"
+            + " from Student s left join s.course c where s.id in :ids")
+    List<StudentSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select s.id from Student s where s.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes the given students that are not attending a course and have no
+     * ACTIVE enrollments, applying the same guards as {@code deleteStudent}
+     * in one statement; their enrollment history is deleted by the cascade.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Student s where s.id in :ids and s.course is null"
+            + " and not exists (select e.id from Enrollment e where e.student = s"
+            + " and e.status = al.polis.appserver.model.EnrollmentStatusEnum.ACTIVE)")
+    int deleteUnreferencedByIdIn(@Param("ids") Collection<Long> ids);
 }
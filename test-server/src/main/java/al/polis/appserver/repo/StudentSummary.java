@@ -0,0 +1,9 @@
+package al.polis.appserver.repo;
+
+/**
+ * Flat student row with the id of the attended course, read through a
+ * constructor expression so the course is never loaded.
+ */
+public record StudentSummary(Long courseId, Long id, String firstName, String lastName, String email,
+                             String phone, String serialNumber) {
+}
@@ -4,12 +4,33 @@ import al.polis.appserver.model.Teacher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+public interface TeacherRepository extends JpaRepository<Teacher, Long>, JpaSpecificationExecutor<Teacher> {
+    Slice<Teacher> findAllBy(Pageable pageable);
+
     Slice<Teacher> findByFirstNameContainsOrLastNameContains(
             String firstName,
             String lastName,
             Pageable pageable);
+
+    @Query("select t.id from Teacher t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes the given teachers that have no courses, applying the same
+     * guard as {@code deleteTeacher} in one statement.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Teacher t where t.id in :ids"
+            + " and not exists (select c.id from Course c where c.teacher = t)")
+    int deleteUnreferencedByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,65 @@
+package al.polis.appserver.repo.spec;
+
+import al.polis.appserver.dto.StructuredFilterDto;
+import al.polis.appserver.model.Course;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static al.polis.appserver.repo.spec.SpecificationSlices.contains;
+
+public final class CourseSpecifications {
+
+    private CourseSpecifications() {
+    }
+
+    public static Specification<Course> matching(StructuredFilterDto filter) {
+        List<Specification<Course>> specs = new ArrayList<>();
+        if (!filter.normalizedFilter().isEmpty()) {
+            specs.add(text(filter.normalizedFilter()));
+        }
+        if (filter.getTeacherId() != null) {
+            specs.add(taughtBy(filter.getTeacherId()));
+        }
+        if (filter.getHasTeacher() != null) {
+            specs.add(hasTeacher(filter.getHasTeacher()));
+        }
+        if (filter.getYearFrom() != null || filter.getYearTo() != null) {
+            specs.add(yearBetween(filter.getYearFrom(), filter.getYearTo()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    static Specification<Course> text(String text) {
+        String pattern = contains(text);
+        return (root, query, cb) -> cb.or(
+                cb.like(root.get("code"), pattern, '\\'),
+                cb.like(root.get("title"), pattern, '\\'),
+                cb.like(root.get("description"), pattern, '\\'));
+    }
+
+    static Specification<Course> taughtBy(Long teacherId) {
+        return (root, query, cb) -> cb.equal(root.get("teacher").get("id"), teacherId);
+    }
+
+    static Specification<Course> hasTeacher(boolean hasTeacher) {
+        return (root, query, cb) -> hasTeacher
+                ? cb.isNotNull(root.get("teacher"))
+                : cb.isNull(root.get("teacher"));
+    }
+
+    static Specification<Course> yearBetween(Integer from, Integer to) {
+        return (root, query, cb) -> yearPredicate(root.get("year"), from, to, cb);
+    }
+
+    static Predicate yearPredicate(Expression<Integer> year, Integer from, Integer to, CriteriaBuilder cb) {
+        if (from != null && to != null) {
+            return cb.between(year, from, to);
+        }
+        return from != null ? cb.greaterThanOrEqualTo(year, from) : cb.lessThanOrEqualTo(year, to);
+    }
+}
@@ -0,0 +1,45 @@
+package al.polis.appserver.repo.spec;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+/**
+ * Runs a Specification as a Slice query. JpaSpecificationExecutor only offers
+ * Page results, which cost an extra count query on every request; an offset
+ * scroll fetches one extra row instead to tell whether a next page exists.
+ */
+public final class SpecificationSlices {
+
+    private SpecificationSlices() {
+    }
+
+    public static <T> Slice<T> findSlice(JpaSpecificationExecutor<T> repository,
+                                         Specification<T> specification,
+                                         Pageable pageable) {
+        ScrollPosition position = pageable.getOffset() == 0
+                ? ScrollPosition.offset()
+                : ScrollPosition.offset(pageable.getOffset() - 1);
+        Window<T> window = repository.findBy(specification, query -> query
+                .sortBy(pageable.getSort())
+                .limit(pageable.getPageSize())
+                .scroll(position));
+        return new SliceImpl<>(window.getContent(), pageable, window.hasNext());
+    }
+
+    static String startsWith(String prefix) {
+        return escapeLike(prefix) + "%";
+    }
+
+    static String contains(String text) {
+        return "%" + escapeLike(text) + "%";
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
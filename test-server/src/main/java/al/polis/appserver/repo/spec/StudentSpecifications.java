@@ -0,0 +1,81 @@
+package al.polis.appserver.repo.spec;
+
+import al.polis.appserver.dto.StructuredFilterDto;
+import al.polis.appserver.model.Course;
+import al.polis.appserver.model.Enrollment;
+import al.polis.appserver.model.EnrollmentStatusEnum;
+import al.polis.appserver.model.Student;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static al.polis.appserver.repo.spec.SpecificationSlices.contains;
+import static al.polis.appserver.repo.spec.SpecificationSlices.startsWith;
+
+public final class StudentSpecifications {
+
+    private StudentSpecifications() {
+    }
+
+    public static Specification<Student> matching(StructuredFilterDto filter) {
+        List<Specification<Student>> specs = new ArrayList<>();
+        if (!filter.normalizedFilter().isEmpty()) {
+            specs.add(text(filter.normalizedFilter()));
+        }
+        if (!filter.normalizedSerialNumberPrefix().isEmpty()) {
+            specs.add(serialNumberStartsWith(filter.normalizedSerialNumberPrefix()));
+        }
+        if (filter.getCourseId() != null || filter.getTeacherId() != null
+                || filter.getYearFrom() != null || filter.getYearTo() != null) {
+            specs.add(attends(filter.getCourseId(), filter.getTeacherId(), filter.getYearFrom(), filter.getYearTo()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    static Specification<Student> text(String text) {
+        String pattern = contains(text);
+        return (root, query, cb) -> cb.or(
+                cb.like(root.get("firstName"), pattern, '\\'),
+                cb.like(root.get("lastName"), pattern, '\\'),
+                cb.like(root.get("email"), pattern, '\\'));
+    }
+
+    static Specification<Student> serialNumberStartsWith(String prefix) {
+        String pattern = startsWith(prefix);
+        return (root, query, cb) -> cb.like(root.get("serialNumber"), pattern, '\\');
+    }
+
+    /**
+     * EXISTS on the student's ACTIVE enrollments (ix_enrollment_student_schedule),
+     * with every course condition on the same enrollment, so a student in
+     * several matching courses is still returned once.
+     */
+    static Specification<Student> attends(Long courseId, Long teacherId, Integer yearFrom, Integer yearTo) {
+        return (root, query, cb) -> {
+            Subquery<Long> sub = query.subquery(Long.class);
+            Root<Enrollment> enrollment = sub.from(Enrollment.class);
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(enrollment.get("student"), root));
+            predicates.add(cb.equal(enrollment.get("status"), EnrollmentStatusEnum.ACTIVE));
+            if (courseId != null) {
+                predicates.add(cb.equal(enrollment.get("course").get("id"), courseId));
+            }
+            if (teacherId != null || yearFrom != null || yearTo != null) {
+                Join<Enrollment, Course> course = enrollment.join("course");
+                if (teacherId != null) {
+                    predicates.add(cb.equal(course.get("teacher").get("id"), teacherId));
+                }
+                if (yearFrom != null || yearTo != null) {
+                    predicates.add(CourseSpecifications.yearPredicate(course.get("year"), yearFrom, yearTo, cb));
+                }
+            }
+            sub.select(enrollment.get("id")).where(predicates.toArray(new Predicate[0]));
+            return cb.exists(sub);
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package al.polis.appserver.repo.spec;
+
+import al.polis.appserver.dto.StructuredFilterDto;
+import al.polis.appserver.model.Course;
+import al.polis.appserver.model.Teacher;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static al.polis.appserver.repo.spec.SpecificationSlices.contains;
+
+public final class TeacherSpecifications {
+
+    private TeacherSpecifications() {
+    }
+
+    public static Specification<Teacher> matching(StructuredFilterDto filter) {
+        List<Specification<Teacher>> specs = new ArrayList<>();
+        if (!filter.normalizedFilter().isEmpty()) {
+            specs.add(text(filter.normalizedFilter()));
+        }
+        if (filter.getCourseId() != null || filter.getYearFrom() != null || filter.getYearTo() != null) {
+            specs.add(teaches(filter.getCourseId(), filter.getYearFrom(), filter.getYearTo()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    static Specification<Teacher> text(String text) {
+        String pattern = contains(text);
+        return (root, query, cb) -> cb.or(
+                cb.like(root.get("firstName"), pattern, '\\'),
+                cb.like(root.get("lastName"), pattern, '\\'));
+    }
+
+    /**
+     * EXISTS on course(teacher_id) rather than a join, so a teacher with many
+     * matching courses is still returned once and paging stays exact.
+     */
+    static Specification<Teacher> teaches(Long courseId, Integer yearFrom, Integer yearTo) {
+        return (root, query, cb) -> {
+            Subquery<Long> sub = query.subquery(Long.class);
+            Root<Course> course = sub.from(Course.class);
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(course.get("teacher"), root));
+            if (courseId != null) {
+                predicates.add(cb.equal(course.get("id"), courseId));
+            }
+            if (yearFrom != null || yearTo != null) {
+                predicates.add(CourseSpecifications.yearPredicate(course.get("year"), yearFrom, yearTo, cb));
+            }
+            sub.select(course.get("id")).where(predicates.toArray(new Predicate[0]));
+            return cb.exists(sub);
+        };
+    }
+}
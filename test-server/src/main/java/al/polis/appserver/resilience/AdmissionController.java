@@ -0,0 +1,95 @@
+package al.polis.appserver.resilience;
+
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admits guarded requests while the number in flight is below the share of
+ * the {@link GradientLimit} their endpoint class may use, and feeds the
+ * latency of every admitted request back into the limit. Rejection is
+ * decided before the request body is read, so shed work costs almost
+ * nothing. Configured from {@code appserver.admission.*}.
+ */
+public class AdmissionController {
+
+    private static final String PREFIX = "appserver.admission.";
+
+    private final GradientLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<EndpointClassEnum, Double> shares = new EnumMap<>(EndpointClassEnum.class);
+    private final Map<EndpointClassEnum, AtomicLong> rejected = new EnumMap<>(EndpointClassEnum.class);
+
+    public AdmissionController(Environment environment) {
+        this(new GradientLimit(
+                environment.getProperty(PREFIX + "initial-limit", Integer.class, 20),
+                environment.getProperty(PREFIX + "min-limit", Integer.class, 10),
+                environment.getProperty(PREFIX + "max-limit", Integer.class, 200),
+                environment.getProperty(PREFIX + "window-size", Integer.class, 10),
+                environment.getProperty(PREFIX + "long-windows", Integer.class, 60),
+                environment.getProperty(PREFIX + "rtt-tolerance", Double.class, 1.5),
+                environment.getProperty(PREFIX + "smoothing", Double.class, 0.2)));
+        for (EndpointClassEnum endpointClass : EndpointClassEnum.values()) {
+            shares.put(endpointClass, environment.getProperty(PREFIX + endpointClass.getKey() + ".share",
+                    Double.class, endpointClass.getDefaultAdmissionShare()));
+        }
+    }
+
+    AdmissionController(GradientLimit limit) {
+        this.limit = limit;
+        for (EndpointClassEnum endpointClass : EndpointClassEnum.values()) {
+            shares.put(endpointClass, endpointClass.getDefaultAdmissionShare());
+            rejected.put(endpointClass, new AtomicLong());
+        }
+    }
+
+    /**
+     * Takes a slot for a request of the class, returning the number in
+     * flight including it, or 0 when the request must be shed. An admitted
+     * request must be reported with {@link #release(long, int)}.
+     */
+    public int tryAcquire(EndpointClassEnum endpointClass) {
+        int threshold = Math.max(1, (int) (limit.getLimit() * shares.get(endpointClass)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= threshold) {
+                rejected.get(endpointClass).incrementAndGet();
+                return 0;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    public void release(long rttNanos, int inFlightAtAdmission) {
+        inFlight.decrementAndGet();
+        limit.onSample(rttNanos, inFlightAtAdmission);
+    }
+
+    /** Seconds a shed client should wait: about the time the requests in flight need to finish. */
+    public int retryAfterSeconds() {
+        long rtt = Math.max(limit.getLongRttNanos(), limit.getLastWindowRttNanos());
+        return (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(rtt + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public GradientLimit getGradientLimit() {
+        return limit;
+    }
+
+    public long getRejected(EndpointClassEnum endpointClass) {
+        return rejected.get(endpointClass).get();
+    }
+}
@@ -0,0 +1,57 @@
+package al.polis.appserver.resilience;
+
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.exception.DomainException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Asks the {@link AdmissionController} before any {@link EndpointClass}
+ * handler runs, ahead of reading and binding the request body. A shed
+ * request fails with {@link ServerErrorEnum#SERVER_OVERLOADED} and a
+ * Retry-After header; an admitted one gives its latency back when it
+ * completes. Health and admin endpoints are never shed.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED = AdmissionInterceptor.class.getName() + ".admitted";
+
+    private final AdmissionController admission;
+
+    public AdmissionInterceptor(AdmissionController admission) {
+        this.admission = admission;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        EndpointClass endpointClass = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), EndpointClass.class);
+        if (endpointClass == null) {
+            return true;
+        }
+        int inFlight = admission.tryAcquire(endpointClass.value());
+        if (inFlight == 0) {
+            throw new DomainException(ServerErrorEnum.SERVER_OVERLOADED,
+                    endpointClass.value() + " request shed at limit " + admission.getLimit(),
+                    admission.retryAfterSeconds());
+        }
+        request.setAttribute(ADMITTED, new long[]{System.nanoTime(), inFlight});
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED) instanceof long[] admitted) {
+            request.removeAttribute(ADMITTED);
+            admission.release(System.nanoTime() - admitted[0], (int) admitted[1]);
+        }
+    }
+}
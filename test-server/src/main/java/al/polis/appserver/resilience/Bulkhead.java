@@ -0,0 +1,60 @@
+package al.polis.appserver.resilience;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the number of concurrent calls of one endpoint class. A caller
+ * waits up to {@code maxWaitMillis} for a permit, in arrival order, and is
+ * rejected after that instead of queueing on the connection pool.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(int maxConcurrent, long maxWaitMillis) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public boolean tryAcquire() {
+        boolean acquired;
+        try {
+            acquired = maxWaitNanos > 0
+                    ? permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)
+                    : permits.tryAcquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.incrementAndGet();
+        }
+        return acquired;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getInUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,144 @@
+package al.polis.appserver.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker over the last {@code window} calls. Only
+ * calls that failed because the database is saturated (statement timeouts,
+ * no connection within the pool timeout) count as failures; a rejected
+ * request or a missing id says nothing about the database. When at least
+ * {@code minCalls} outcomes are known and the failure share reaches
+ * {@code failureRate} the circuit opens for {@code openMillis}, then lets a
+ * single probe through.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    private final String name;
+    private final int minCalls;
+    private final double failureRate;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    // ring of the last outcomes, true for a failure
+    private final boolean[] outcomes;
+    private int next;
+    private int calls;
+    private int failures;
+
+    private CircuitStateEnum state = CircuitStateEnum.CLOSED;
+    private long openedAt;
+    private boolean probing;
+    private long rejected;
+
+    public CircuitBreaker(String name, int window, int minCalls, double failureRate, long openMillis) {
+        this(name, window, minCalls, failureRate, openMillis, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int window, int minCalls, double failureRate, long openMillis, LongSupplier nanoClock) {
+        this.name = name;
+        this.outcomes = new boolean[window];
+        this.minCalls = Math.min(minCalls, window);
+        this.failureRate = failureRate;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Whether a call may go ahead. A caller that gets true must report the
+     * call with {@link #record(boolean)} or, if it did not run it after all,
+     * {@link #release()}.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nanoClock.getAsLong() - openedAt < openNanos) {
+                    rejected++;
+                    return false;
+                }
+                state = CircuitStateEnum.HALF_OPEN;
+                probing = true;
+                return true;
+            default:
+                if (probing) {
+                    rejected++;
+                    return false;
+                }
+                probing = true;
+                return true;
+        }
+    }
+
+    public synchronized void release() {
+        if (state == CircuitStateEnum.HALF_OPEN) {
+            probing = false;
+        }
+    }
+
+    public synchronized void record(boolean saturated) {
+        if (state == CircuitStateEnum.HALF_OPEN) {
+            if (saturated) {
+                open("the probe call found the database saturated");
+            } else {
+                log.info("Circuit {} closed", name);
+                state = CircuitStateEnum.CLOSED;
+                reset();
+            }
+            return;
+        }
+        if (state == CircuitStateEnum.OPEN) {
+            // a call admitted before the circuit opened
+            return;
+        }
+        if (calls == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        outcomes[next] = saturated;
+        if (saturated) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+        if (calls >= minCalls && failures >= failureRate * calls) {
+            open(failures + " of the last " + calls + " calls found the database saturated");
+        }
+    }
+
+    public synchronized CircuitStateEnum getState() {
+        return state;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    /** Time until an open circuit lets a probe through, 0 when it is not open. */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != CircuitStateEnum.OPEN) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, openNanos - (nanoClock.getAsLong() - openedAt)));
+    }
+
+    private void open(String reason) {
+        log.warn("Circuit {} open for {} ms: {}", name, TimeUnit.NANOSECONDS.toMillis(openNanos), reason);
+        state = CircuitStateEnum.OPEN;
+        openedAt = nanoClock.getAsLong();
+        probing = false;
+        reset();
+    }
+
+    private void reset() {
+        next = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
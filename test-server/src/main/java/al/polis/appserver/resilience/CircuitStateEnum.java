@@ -0,0 +1,10 @@
+package al.polis.appserver.resilience;
+
+public enum CircuitStateEnum {
+    // calls pass, outcomes are counted
+    CLOSED,
+    // calls fail fast until the open period is over
+    OPEN,
+    // one probe call passes; its outcome closes or reopens the circuit
+    HALF_OPEN
+}
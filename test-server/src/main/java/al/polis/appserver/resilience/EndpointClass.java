@@ -0,0 +1,20 @@
+package al.polis.appserver.resilience;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a controller method behind the bulkhead, circuit breaker and
+ * statement timeout of its endpoint class. Methods without it (health,
+ * admin) are not guarded.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EndpointClass {
+
+    EndpointClassEnum value();
+}
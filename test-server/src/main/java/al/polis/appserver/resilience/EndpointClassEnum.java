@@ -0,0 +1,42 @@
+package al.polis.appserver.resilience;
+
+import lombok.Getter;
+
+/**
+ * Classes of endpoints that get their own bulkhead, circuit breaker and
+ * statement timeout, so that slow searches cannot take the connections the
+ * single-entity reads and the writes need. The defaults can be overridden
+ * with {@code appserver.resilience.<class>.max-concurrent},
+ * {@code .max-wait-millis} and {@code .query-timeout-seconds}; together the
+ * bulkheads should stay below the connection pool size.
+ * <p>
+ * The admission controller in front of all classes gives each one a share
+ * of the adaptive concurrency limit ({@code appserver.admission.<class>.share}):
+ * searches only get the lower part, so under overload they are shed first
+ * and the rest of the limit stays free for gets and writes.
+ */
+@Getter
+public enum EndpointClassEnum {
+
+    // filters, structured searches, rosters, schedules and the dashboard
+    SEARCH("search", 3, 100, 5, 0.6),
+    // single entity by id
+    GET("get", 4, 200, 2, 1.0),
+    // upserts, deletes, associations, enrollments and batches
+    WRITE("write", 2, 500, 10, 1.0);
+
+    private final String key;
+    private final int defaultMaxConcurrent;
+    private final long defaultMaxWaitMillis;
+    private final int defaultQueryTimeoutSeconds;
+    private final double defaultAdmissionShare;
+
+    EndpointClassEnum(String key, int defaultMaxConcurrent, long defaultMaxWaitMillis, int defaultQueryTimeoutSeconds,
+                      double defaultAdmissionShare) {
+        this.key = key;
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultMaxWaitMillis = defaultMaxWaitMillis;
+        this.defaultQueryTimeoutSeconds = defaultQueryTimeoutSeconds;
+        this.defaultAdmissionShare = defaultAdmissionShare;
+    }
+}
@@ -0,0 +1,85 @@
+package al.polis.appserver.resilience;
+
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.exception.DomainException;
+import lombok.Getter;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Bulkhead, circuit breaker and statement timeout of one endpoint class.
+ * A call is refused with {@link ServerErrorEnum#DATABASE_SATURATED} while
+ * the circuit is open and with {@link ServerErrorEnum#ENDPOINT_BUSY} when
+ * no permit frees up in time, both with a Retry-After hint; a call that fails because the database is
+ * saturated is answered with {@link ServerErrorEnum#QUERY_TIMEOUT} or
+ * {@code DATABASE_SATURATED} and counted by the breaker.
+ */
+@Getter
+public class EndpointGuard {
+
+    private final EndpointClassEnum endpointClass;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final int queryTimeoutSeconds;
+
+    public EndpointGuard(EndpointClassEnum endpointClass, Bulkhead bulkhead, CircuitBreaker circuitBreaker,
+                         int queryTimeoutSeconds) {
+        this.endpointClass = endpointClass;
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+    }
+
+    public Object call(GuardedCall call) throws Throwable {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new DomainException(ServerErrorEnum.DATABASE_SATURATED,
+                    "Circuit " + endpointClass + " is open",
+                    (int) Math.max(1, (circuitBreaker.getRemainingOpenMillis() + 999) / 1000));
+        }
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.release();
+            throw new DomainException(ServerErrorEnum.ENDPOINT_BUSY,
+                    "Bulkhead " + endpointClass + " is full with " + bulkhead.getMaxConcurrent() + " calls", 1);
+        }
+        int previousTimeout = QueryTimeout.enter(queryTimeoutSeconds);
+        boolean saturated = false;
+        try {
+            return call.proceed();
+        } catch (Throwable ex) {
+            Throwable cause = saturationCause(ex);
+            if (cause == null) {
+                throw ex;
+            }
+            saturated = true;
+            throw new DomainException(cause instanceof SQLTransientConnectionException
+                    ? ServerErrorEnum.DATABASE_SATURATED : ServerErrorEnum.QUERY_TIMEOUT,
+                    endpointClass + " call failed: " + cause.getMessage());
+        } finally {
+            QueryTimeout.restore(previousTimeout);
+            bulkhead.release();
+            circuitBreaker.record(saturated);
+        }
+    }
+
+    /**
+     * The exception in the chain showing that the database is saturated: a
+     * statement cancelled by its timeout, or no pooled connection within the
+     * pool's connection timeout. Null for any other failure.
+     */
+    static Throwable saturationCause(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof SQLTimeoutException || t instanceof SQLTransientConnectionException
+                    || t instanceof QueryTimeoutException || t instanceof jakarta.persistence.QueryTimeoutException) {
+                return t;
+            }
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    public interface GuardedCall {
+        Object proceed() throws Throwable;
+    }
+}
@@ -0,0 +1,28 @@
+package al.polis.appserver.resilience;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Runs each {@link EndpointClass} controller method through the guard of
+ * its class.
+ */
+class EndpointGuardInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<EndpointGuards> guards;
+
+    EndpointGuardInterceptor(ObjectProvider<EndpointGuards> guards) {
+        this.guards = guards;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        EndpointClass endpointClass = AnnotatedElementUtils.findMergedAnnotation(invocation.getMethod(), EndpointClass.class);
+        if (endpointClass == null) {
+            return invocation.proceed();
+        }
+        return guards.getObject().get(endpointClass.value()).call(invocation::proceed);
+    }
+}
@@ -0,0 +1,22 @@
+package al.polis.appserver.resilience;
+
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Proxies the controllers that have {@link EndpointClass} methods. Being an
+ * advising post-processor, the proxy classes are known to AOT processing
+ * and exist in the native image as well. The guards are looked up on the
+ * first guarded call, so registering the post-processor does not create
+ * them before the other post-processors.
+ */
+public class EndpointGuardPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public EndpointGuardPostProcessor(ObjectProvider<EndpointGuards> guards) {
+        this.advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(EndpointClass.class),
+                new EndpointGuardInterceptor(guards));
+    }
+}
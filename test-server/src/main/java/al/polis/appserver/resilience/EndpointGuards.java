@@ -0,0 +1,49 @@
+package al.polis.appserver.resilience;
+
+import org.springframework.core.env.Environment;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One {@link EndpointGuard} per endpoint class, configured from
+ * {@code appserver.resilience.<class>.*} with the defaults of
+ * {@link EndpointClassEnum}. The circuit breakers share the
+ * {@code appserver.resilience.breaker.*} settings but open independently,
+ * so timeouts of the searches do not fail the gets.
+ */
+public class EndpointGuards {
+
+    private static final String PREFIX = "appserver.resilience.";
+
+    private final Map<EndpointClassEnum, EndpointGuard> guards = new EnumMap<>(EndpointClassEnum.class);
+
+    public EndpointGuards(Environment environment) {
+        int window = environment.getProperty(PREFIX + "breaker.window", Integer.class, 20);
+        int minCalls = environment.getProperty(PREFIX + "breaker.min-calls", Integer.class, 10);
+        double failureRate = environment.getProperty(PREFIX + "breaker.failure-rate", Double.class, 0.5);
+        long openMillis = environment.getProperty(PREFIX + "breaker.open-millis", Long.class, 5000L);
+        for (EndpointClassEnum endpointClass : EndpointClassEnum.values()) {
+            String prefix = PREFIX + endpointClass.getKey() + ".";
+            Bulkhead bulkhead = new Bulkhead(
+                    environment.getProperty(prefix + "max-concurrent", Integer.class,
+                            endpointClass.getDefaultMaxConcurrent()),
+                    environment.getProperty(prefix + "max-wait-millis", Long.class,
+                            endpointClass.getDefaultMaxWaitMillis()));
+            CircuitBreaker breaker = new CircuitBreaker(endpointClass.getKey(), window, minCalls, failureRate, openMillis);
+            int queryTimeoutSeconds = environment.getProperty(prefix + "query-timeout-seconds", Integer.class,
+                    endpointClass.getDefaultQueryTimeoutSeconds());
+            guards.put(endpointClass, new EndpointGuard(endpointClass, bulkhead, breaker, queryTimeoutSeconds));
+        }
+    }
+
+    public EndpointGuard get(EndpointClassEnum endpointClass) {
+        return guards.get(endpointClass);
+    }
+
+    public Collection<EndpointGuard> all() {
+        return Collections.unmodifiableCollection(guards.values());
+    }
+}
@@ -0,0 +1,100 @@
+package al.polis.appserver.resilience;
+
+/**
+ * Concurrency limit that follows the latency of the requests, after the
+ * gradient algorithm of Netflix's concurrency-limits. Samples are averaged
+ * over windows of {@code windowSize} requests. Each window compares the
+ * long-term average latency, taken as the no-queueing baseline, with the
+ * window's average: while the window is no slower than
+ * {@code tolerance} times the baseline the limit grows by {@code queueSize},
+ * and as requests slow down because they queue for threads, connections or
+ * locks the limit shrinks in proportion, down to half per window. The
+ * change is smoothed and the limit kept within {@code [minLimit, maxLimit]}.
+ * A window in which fewer than half of the permits were used says nothing
+ * about capacity and leaves the limit unchanged.
+ */
+public class GradientLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final double tolerance;
+    private final double smoothing;
+    private final int queueSize;
+    // weight of a new window in the long-term average
+    private final double longRttWeight;
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    private long windowRttNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private volatile long lastWindowRttNanos;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, int windowSize, int longWindows,
+                         double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.queueSize = Math.max(1, (int) Math.sqrt(initialLimit));
+        this.longRttWeight = 2.0 / (longWindows + 1);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.estimatedLimit = limit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getLongRttNanos() {
+        return (long) longRttNanos;
+    }
+
+    public long getLastWindowRttNanos() {
+        return lastWindowRttNanos;
+    }
+
+    /**
+     * Records a completed request: its latency and the number of requests in
+     * flight when it was admitted.
+     */
+    public synchronized void onSample(long rttNanos, int inFlight) {
+        windowRttNanos += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        if (windowSamples < windowSize) {
+            return;
+        }
+        double shortRtt = (double) windowRttNanos / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowRttNanos = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        lastWindowRttNanos = (long) shortRtt;
+        update(shortRtt, maxInFlight);
+    }
+
+    private void update(double shortRtt, int maxInFlight) {
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) * longRttWeight;
+        }
+        // after a lasting drop in latency, do not keep a stale, too high baseline
+        if (longRttNanos > 2 * shortRtt) {
+            longRttNanos *= 0.95;
+        }
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+        double next = estimatedLimit * gradient + queueSize;
+        next = estimatedLimit * (1 - smoothing) + next * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+}
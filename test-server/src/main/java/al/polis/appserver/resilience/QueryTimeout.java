@@ -0,0 +1,50 @@
+package al.polis.appserver.resilience;
+
+/**
+ * The statement timeout of the endpoint the current thread is serving, in
+ * seconds, 0 for none. {@link QueryTimeoutDataSource} applies it to every
+ * statement the thread creates.
+ */
+public final class QueryTimeout {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private QueryTimeout() {
+    }
+
+    public static int current() {
+        Integer seconds = CURRENT.get();
+        return seconds == null ? 0 : seconds;
+    }
+
+    /** Sets the timeout and returns the previous one, to be passed to {@link #restore(int)}. */
+    public static int enter(int seconds) {
+        int previous = current();
+        CURRENT.set(seconds);
+        return previous;
+    }
+
+    public static void restore(int previous) {
+        if (previous == 0) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /** Runs the task, on whatever thread, with the caller's timeout. */
+    public static Runnable propagate(Runnable task) {
+        int seconds = current();
+        if (seconds == 0) {
+            return task;
+        }
+        return () -> {
+            int previous = enter(seconds);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package al.polis.appserver.resilience;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the pool so that statements created while an endpoint timeout is
+ * set ({@link QueryTimeout}) carry it as their JDBC query timeout, and the
+ * driver cancels them instead of letting one search hold its connection
+ * indefinitely. A timeout Hibernate sets itself, from a transaction timeout
+ * or a query hint, still wins because it is applied later. Connections
+ * handed out with no timeout set are returned unwrapped.
+ */
+public class QueryTimeoutDataSource extends DelegatingDataSource {
+
+    public QueryTimeoutDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        if (QueryTimeout.current() == 0) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(QueryTimeoutDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                    if (result instanceof Statement statement) {
+                        int seconds = QueryTimeout.current();
+                        if (seconds > 0) {
+                            statement.setQueryTimeout(seconds);
+                        }
+                    }
+                    return result;
+                });
+    }
+}
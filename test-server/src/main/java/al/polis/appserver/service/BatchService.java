@@ -0,0 +1,8 @@
+package al.polis.appserver.service;
+
+import al.polis.appserver.dto.BatchRequestDto;
+import al.polis.appserver.dto.BatchResultDto;
+
+public interface BatchService {
+    BatchResultDto executeBatch(BatchRequestDto batch);
+}
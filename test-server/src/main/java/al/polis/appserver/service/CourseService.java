@@ -1,9 +1,12 @@
 package al.polis.appserver.service;
 
+import al.polis.appserver.dto.BulkDeleteResultDto;
 import al.polis.appserver.dto.CourseDto;
 import al.polis.appserver.dto.CourseTeacherAssocDto;
 import al.polis.appserver.dto.LongIdDto;
+import al.polis.appserver.dto.LongIdListDto;
 import al.polis.appserver.dto.SimpleStringFilterDto;
+import al.polis.appserver.dto.StructuredFilterDto;
 import org.springframework.data.domain.Slice;
 
 import java.util.List;
@@ -13,8 +16,12 @@ public interface CourseService {
 
     Slice<CourseDto> filterCourses(SimpleStringFilterDto filter);
 
+    Slice<CourseDto> searchCourses(StructuredFilterDto filter);
+
     void deleteCourse(LongIdDto courseId);
 
+    BulkDeleteResultDto bulkDeleteCourses(LongIdListDto ids);
+
     CourseDto getCourse(LongIdDto courseId);
 
     void associateTeacherToCourse(CourseTeacherAssocDto assoc);
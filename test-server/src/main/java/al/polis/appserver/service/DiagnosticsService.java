@@ -0,0 +1,16 @@
+package al.polis.appserver.service;
+
+import al.polis.appserver.dto.DiagnosticsDto;
+import al.polis.appserver.dto.EndpointResourceDto;
+
+import java.util.List;
+
+public interface DiagnosticsService {
+    DiagnosticsDto getDiagnostics();
+
+    String getThreadDump();
+
+    List<EndpointResourceDto> getEndpointResources();
+
+    void resetEndpointResources();
+}
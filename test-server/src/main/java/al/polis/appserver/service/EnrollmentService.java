@@ -0,0 +1,15 @@
+package al.polis.appserver.service;
+
+import al.polis.appserver.dto.EnrollmentDto;
+import al.polis.appserver.dto.EnrollmentFilterDto;
+import org.springframework.data.domain.Slice;
+
+public interface EnrollmentService {
+    EnrollmentDto enroll(EnrollmentDto enrollment);
+
+    void drop(EnrollmentDto enrollment);
+
+    Slice<EnrollmentDto> getRoster(EnrollmentFilterDto filter);
+
+    Slice<EnrollmentDto> getSchedule(EnrollmentFilterDto filter);
+}
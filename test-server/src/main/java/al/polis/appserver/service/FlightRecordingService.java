@@ -0,0 +1,16 @@
+package al.polis.appserver.service;
+
+import al.polis.appserver.dto.FlightRecordingDto;
+import al.polis.appserver.dto.FlightRecordingStartDto;
+
+import java.nio.file.Path;
+
+public interface FlightRecordingService {
+    FlightRecordingDto start(FlightRecordingStartDto request);
+
+    FlightRecordingDto stop();
+
+    FlightRecordingDto status();
+
+    Path dump();
+}
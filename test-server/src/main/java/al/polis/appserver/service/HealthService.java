@@ -0,0 +1,9 @@
+package al.polis.appserver.service;
+
+import al.polis.appserver.dto.HealthDto;
+
+public interface HealthService {
+    HealthDto getLiveness();
+
+    HealthDto getReadiness();
+}
@@ -1,8 +1,11 @@
 package al.polis.appserver.service;
 
+import al.polis.appserver.dto.BulkDeleteResultDto;
 import al.polis.appserver.dto.CourseStudentAssocDto;
 import al.polis.appserver.dto.LongIdDto;
+import al.polis.appserver.dto.LongIdListDto;
 import al.polis.appserver.dto.SimpleStringFilterDto;
+import al.polis.appserver.dto.StructuredFilterDto;
 import al.polis.appserver.dto.StudentDto;
 import org.springframework.data.domain.Slice;
 
@@ -13,8 +16,12 @@ public interface StudentService {
 
     Slice<StudentDto> filterStudents(SimpleStringFilterDto filter);
 
+    Slice<StudentDto> searchStudents(StructuredFilterDto filter);
+
     void deleteStudent(LongIdDto studentId);
 
+    BulkDeleteResultDto bulkDeleteStudents(LongIdListDto ids);
+
     void associateStudentToCourse(CourseStudentAssocDto assoc);
 
     void removeStudentFromCourse(CourseStudentAssocDto assoc);
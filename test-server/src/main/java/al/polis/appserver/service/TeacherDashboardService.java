@@ -0,0 +1,8 @@
+package al.polis.appserver.service;
+
+import al.polis.appserver.dto.LongIdDto;
+import al.polis.appserver.dto.TeacherDashboardDto;
+
+public interface TeacherDashboardService {
+    TeacherDashboardDto getTeacherDashboard(LongIdDto teacherId);
+}
@@ -1,8 +1,11 @@
 package al.polis.appserver.service;
 
+import al.polis.appserver.dto.BulkDeleteResultDto;
 import al.polis.appserver.dto.CourseTeacherAssocDto;
 import al.polis.appserver.dto.LongIdDto;
+import al.polis.appserver.dto.LongIdListDto;
 import al.polis.appserver.dto.SimpleStringFilterDto;
+import al.polis.appserver.dto.StructuredFilterDto;
 import al.polis.appserver.dto.TeacherDto;
 import org.springframework.data.domain.Slice;
 
@@ -13,8 +16,12 @@ public interface TeacherService {
 
     Slice<TeacherDto> filterTeachers(SimpleStringFilterDto filter);
 
+    Slice<TeacherDto> searchTeachers(StructuredFilterDto filter);
+
     void deleteTeacher(LongIdDto teacherId);
 
+    BulkDeleteResultDto bulkDeleteTeachers(LongIdListDto ids);
+
 
     TeacherDto getTeacher(LongIdDto teacherId);
 
@@ -0,0 +1,273 @@
+package al.polis.appserver.service.impl;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.communication.ServerStatus;
+import al.polis.appserver.dto.*;
+import al.polis.appserver.exception.DomainException;
+import al.polis.appserver.service.BatchService;
+import al.polis.appserver.service.CourseService;
+import al.polis.appserver.service.EnrollmentService;
+import al.polis.appserver.service.StudentService;
+import al.polis.appserver.service.TeacherService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@AllArgsConstructor
+@Slf4j
+public class BatchServiceImpl implements BatchService {
+
+    static final int MAX_OPERATIONS = 100;
+
+    // "$<index>.<field>[.<field>...]", e.g. "$0.id"
+    private static final Pattern REFERENCE = Pattern.compile("^\\$(\\d+)((?:\\.\\w+)+)$");
+
+    private final StudentService studentService;
+    private final TeacherService teacherService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public BatchResultDto executeBatch(BatchRequestDto batch) {
+        if (batch == null || batch.getOperations() == null || batch.getOperations().isEmpty()
+                || batch.getOperations().size() > MAX_OPERATIONS) {
+            throw new DomainException(ServerErrorEnum.BATCH_INVALID, "Batch is missing, empty or too long " + batch);
+        }
+        List<BatchOperationResultDto> results = batch.isContinueOnError()
+                ? executeEach(batch.getOperations())
+                : executeAll(batch.getOperations());
+
+        BatchResultDto res = new BatchResultDto();
+        res.setResults(results);
+        res.setSucceeded((int) results.stream().filter(r -> r.getOutcome() == BatchOutcomeEnum.SUCCEEDED).count());
+        res.setFailed((int) results.stream().filter(r -> r.getOutcome() == BatchOutcomeEnum.FAILED).count());
+        if (!batch.isContinueOnError() && res.getSucceeded() < results.size()) {
+            ErrorContext.addStatusMessage(ServerErrorEnum.BATCH_ROLLED_BACK);
+        }
+        return res;
+    }
+
+    /**
+     * All operations share one transaction: the first failure stops the
+     * batch and rolls back everything applied before it.
+     */
+    private List<BatchOperationResultDto> executeAll(List<BatchOperationDto> operations) {
+        List<BatchOperationResultDto> results = new ArrayList<>();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        boolean rolledBack;
+        try {
+            rolledBack = Boolean.TRUE.equals(tx.execute(status -> {
+                for (BatchOperationDto operation : operations) {
+                    BatchOperationResultDto result = execute(results.size(), operation, results);
+                    results.add(result);
+                    if (result.getOutcome() == BatchOutcomeEnum.FAILED) {
+                        status.setRollbackOnly();
+                        return true;
+                    }
+                }
+                return false;
+            }));
+        } catch (RuntimeException ex) {
+            // commit itself failed, e.g. a constraint checked at flush time
+            log.error("Batch failed on commit: {}", ex.getMessage());
+            rolledBack = true;
+        }
+
+        if (rolledBack) {
+            results.stream()
+                    .filter(r -> r.getOutcome() == BatchOutcomeEnum.SUCCEEDED)
+                    .forEach(r -> r.setOutcome(BatchOutcomeEnum.ROLLED_BACK));
+            for (int i = results.size(); i < operations.size(); i++) {
+                results.add(skipped(i, operations.get(i)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Every operation commits or rolls back on its own; a failure is
+     * reported and the batch goes on.
+     */
+    private List<BatchOperationResultDto> executeEach(List<BatchOperationDto> operations) {
+        List<BatchOperationResultDto> results = new ArrayList<>();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (BatchOperationDto operation : operations) {
+            int index = results.size();
+            BatchOperationResultDto[] holder = new BatchOperationResultDto[1];
+            try {
+                tx.executeWithoutResult(status -> {
+                    holder[0] = execute(index, operation, results);
+                    if (holder[0].getOutcome() == BatchOutcomeEnum.FAILED) {
+                        status.setRollbackOnly();
+                    }
+                });
+            } catch (RuntimeException ex) {
+                // commit itself failed, e.g. a constraint checked at flush time
+                log.error("Batch operation {} failed on commit: {}", index, ex.getMessage());
+                holder[0] = failed(index, operation, ex);
+            }
+            results.add(holder[0]);
+        }
+        return results;
+    }
+
+    private BatchOperationResultDto execute(int index, BatchOperationDto operation,
+                                            List<BatchOperationResultDto> previous) {
+        BatchOperationResultDto result = new BatchOperationResultDto();
+        result.setIndex(index);
+        result.setOp(operation == null ? null : operation.getOp());
+        try {
+            if (operation == null || operation.getOp() == null) {
+                throw new DomainException(ServerErrorEnum.BATCH_OPERATION_INVALID, "Batch operation " + index + " has no op");
+            }
+            Object payload = readPayload(index, operation, previous);
+            result.setResult(dispatch(operation.getOp(), payload));
+            result.setOutcome(BatchOutcomeEnum.SUCCEEDED);
+            result.setStatus(ErrorContext.readAndClean());
+        } catch (RuntimeException ex) {
+            log.info("Batch operation {} ({}) failed: {}", index, result.getOp(), ex.getMessage());
+            return failed(index, operation, ex);
+        }
+        return result;
+    }
+
+    private Object dispatch(BatchOperationEnum op, Object payload) {
+        switch (op) {
+            case UPSERT_STUDENT:
+                return studentService.upsertStudent((StudentDto) payload);
+            case DELETE_STUDENT:
+                studentService.deleteStudent((LongIdDto) payload);
+                return null;
+            case GET_STUDENT:
+                return studentService.getStudent((LongIdDto) payload);
+            case ASSOCIATE_STUDENT_TO_COURSE:
+                studentService.associateStudentToCourse((CourseStudentAssocDto) payload);
+                return null;
+            case REMOVE_STUDENT_FROM_COURSE:
+                studentService.removeStudentFromCourse((CourseStudentAssocDto) payload);
+                return null;
+            case UPSERT_TEACHER:
+                return teacherService.upsertTeacher((TeacherDto) payload);
+            case DELETE_TEACHER:
+                teacherService.deleteTeacher((LongIdDto) payload);
+                return null;
+            case GET_TEACHER:
+                return teacherService.getTeacher((LongIdDto) payload);
+            case UPSERT_COURSE:
+                return courseService.upsertCourse((CourseDto) payload);
+            case DELETE_COURSE:
+                courseService.deleteCourse((LongIdDto) payload);
+                return null;
+            case GET_COURSE:
+                return courseService.getCourse((LongIdDto) payload);
+            case ASSOCIATE_TEACHER_TO_COURSE:
+                courseService.associateTeacherToCourse((CourseTeacherAssocDto) payload);
+                return null;
+            case REMOVE_TEACHER_FROM_COURSE:
+                courseService.removeTeacherFromCourse((CourseTeacherAssocDto) payload);
+                return null;
+            case ENROLL_STUDENT:
+                return enrollmentService.enroll((EnrollmentDto) payload);
+            case DROP_ENROLLMENT:
+                enrollmentService.drop((EnrollmentDto) payload);
+                return null;
+            default:
+                throw new DomainException(ServerErrorEnum.BATCH_OPERATION_INVALID, "Unsupported batch operation " + op);
+        }
+    }
+
+    private Object readPayload(int index, BatchOperationDto operation, List<BatchOperationResultDto> previous) {
+        try {
+            JsonNode payload = resolveReferences(index, operation.getPayload(), previous);
+            return objectMapper.treeToValue(payload, operation.getOp().getPayloadType());
+        } catch (JsonProcessingException | IllegalArgumentException ex) {
+            throw new DomainException(ServerErrorEnum.BATCH_OPERATION_INVALID, "Payload of batch operation " + index + " is invalid: " + ex.getMessage());
+        }
+    }
+
+    private JsonNode resolveReferences(int index, JsonNode node, List<BatchOperationResultDto> previous) {
+        if (node == null) {
+            return null;
+        }
+        if (node.isTextual()) {
+            Matcher reference = REFERENCE.matcher(node.textValue());
+            return reference.matches() ? resolveReference(index, reference, previous) : node;
+        }
+        if (node.isObject()) {
+            ObjectNode copy = objectMapper.createObjectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                copy.set(field.getKey(), resolveReferences(index, field.getValue(), previous));
+            }
+            return copy;
+        }
+        if (node.isArray()) {
+            ArrayNode copy = objectMapper.createArrayNode();
+            node.forEach(element -> copy.add(resolveReferences(index, element, previous)));
+            return copy;
+        }
+        return node;
+    }
+
+    private JsonNode resolveReference(int index, Matcher reference, List<BatchOperationResultDto> previous) {
+        int target = Integer.parseInt(reference.group(1));
+        if (target >= index || target >= previous.size()
+                || previous.get(target).getOutcome() != BatchOutcomeEnum.SUCCEEDED) {
+            throw new IllegalArgumentException("reference " + reference.group() + " does not point to an earlier successful operation");
+        }
+        JsonNode value = objectMapper.valueToTree(previous.get(target).getResult());
+        for (String field : reference.group(2).substring(1).split("\\.")) {
+            value = value == null ? null : value.get(field);
+        }
+        if (value == null || value.isNull()) {
+            throw new IllegalArgumentException("reference " + reference.group() + " resolves to nothing");
+        }
+        return value;
+    }
+
+    private BatchOperationResultDto failed(int index, BatchOperationDto operation, RuntimeException ex) {
+        if (ex instanceof DomainException domain) {
+            ErrorContext.addStatusMessage(domain.getError());
+        }
+        List<ServerStatus> status = ErrorContext.readAndClean();
+        if (status.isEmpty()) {
+            status = List.of(ServerStatus.createUnknownError());
+        }
+        BatchOperationResultDto result = new BatchOperationResultDto();
+        result.setIndex(index);
+        result.setOp(operation == null ? null : operation.getOp());
+        result.setOutcome(BatchOutcomeEnum.FAILED);
+        result.setStatus(status);
+        return result;
+    }
+
+    private BatchOperationResultDto skipped(int index, BatchOperationDto operation) {
+        BatchOperationResultDto result = new BatchOperationResultDto();
+        result.setIndex(index);
+        result.setOp(operation == null ? null : operation.getOp());
+        result.setOutcome(BatchOutcomeEnum.SKIPPED);
+        result.setStatus(List.of());
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package al.polis.appserver.service.impl;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.dto.BulkDeleteResultDto;
+import al.polis.appserver.dto.LongIdListDto;
+import al.polis.appserver.exception.DomainException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Shared flow of the bulk delete endpoints: one lookup of the existing ids,
+ * one guarded delete statement, one lookup of what survived it. The outcome
+ * is derived from the two lookups, so it reflects what the guarded statement
+ * actually did.
+ */
+final class BulkDeletes {
+
+    static final int MAX_IDS = 500;
+
+    private BulkDeletes() {
+    }
+
+    static BulkDeleteResultDto delete(LongIdListDto request,
+                                      Function<Collection<Long>, List<Long>> findExistingIds,
+                                      ToIntFunction<Collection<Long>> deleteUnreferenced,
+                                      ServerErrorEnum refusedError) {
+        Set<Long> requested = new LinkedHashSet<>();
+        if (request != null && request.getIds() != null) {
+            requested.addAll(request.getIds());
+            requested.remove(null);
+        }
+        if (requested.isEmpty() || requested.size() > MAX_IDS) {
+            throw new DomainException(ServerErrorEnum.ID_LIST_INVALID, "Id list is missing, empty or too long " + request);
+        }
+
+        Set<Long> existing = new HashSet<>(findExistingIds.apply(requested));
+        Set<Long> remaining = Set.of();
+        if (!existing.isEmpty()) {
+            deleteUnreferenced.applyAsInt(existing);
+            remaining = new HashSet<>(findExistingIds.apply(existing));
+        }
+
+        List<Long> deleted = new ArrayList<>();
+        List<Long> refused = new ArrayList<>();
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : requested) {
+            if (!existing.contains(id)) {
+                notFound.add(id);
+            } else if (remaining.contains(id)) {
+                refused.add(id);
+            } else {
+                deleted.add(id);
+            }
+        }
+        if (!refused.isEmpty()) {
+            ErrorContext.addStatusMessage(refusedError);
+        }
+
+        BulkDeleteResultDto result = new BulkDeleteResultDto();
+        result.setDeleted(deleted);
+        result.setRefused(refused);
+        result.setNotFound(notFound);
+        return result;
+    }
+}
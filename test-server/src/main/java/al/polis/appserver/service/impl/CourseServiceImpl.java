@@ -1,118 +1,192 @@
 package al.polis.appserver.service.impl;
 
-import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.cache.EntityTypeEnum;
+import al.polis.appserver.cache.QueryResultCache;
+import al.polis.appserver.cache.SingleFlight;
 import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.dto.BulkDeleteResultDto;
 import al.polis.appserver.dto.CourseDto;
 import al.polis.appserver.dto.CourseTeacherAssocDto;
 import al.polis.appserver.dto.LongIdDto;
+import al.polis.appserver.dto.LongIdListDto;
 import al.polis.appserver.dto.SimpleStringFilterDto;
-import al.polis.appserver.exception.TestServerRuntimeException;
+import al.polis.appserver.dto.StructuredFilterDto;
+import al.polis.appserver.dto.StudentDto;
+import al.polis.appserver.exception.DomainException;
 import al.polis.appserver.mapper.CourseMapper;
 import al.polis.appserver.model.Course;
+import al.polis.appserver.model.EnrollmentStatusEnum;
 import al.polis.appserver.model.Teacher;
 import al.polis.appserver.repo.CourseRepository;
+import al.polis.appserver.repo.EnrollmentRepository;
+import al.polis.appserver.repo.StudentRepository;
 import al.polis.appserver.repo.TeacherRepository;
+import al.polis.appserver.repo.spec.CourseSpecifications;
+import al.polis.appserver.repo.spec.SpecificationSlices;
 import al.polis.appserver.service.CourseService;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class CourseServiceImpl implements CourseService {
 
+    // Each key has its (fields..., id) index, see the V2 and V6 migrations
+    private static final Set<List<String>> SORT_KEYS = Set.of(
+            List.of("code"), List.of("title"), List.of("year"),
+            List.of("year", "title"));
+
     private final CourseRepository courseRepository;
     private final TeacherRepository teacherRepository;
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
     private final CourseMapper courseMapper;
+    private final SingleFlight singleFlight;
+    private final QueryResultCache queryResultCache;
 
     @Transactional
     @Override
     public CourseDto upsertCourse(CourseDto course) {
         if (course == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_MISSING);
-            throw new TestServerRuntimeException("Course is null");
+            throw new DomainException(ServerErrorEnum.COURSE_MISSING, "Course is null");
         }
         Course entity = courseMapper.toEntity(course);
         Course res = courseRepository.save(entity);
+        queryResultCache.invalidate(EntityTypeEnum.COURSE);
         CourseDto dto = courseMapper.toDto(res);
+        withRosters(List.of(dto));
         return dto;
     }
 
     @Override
     public Slice<CourseDto> filterCourses(SimpleStringFilterDto filter) {
         if (filter == null || filter.getPagination() == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_MISSING);
-            throw new TestServerRuntimeException("Filter is null or has no pagination info.");
+            throw new DomainException(ServerErrorEnum.COURSE_MISSING, "Filter is null or has no pagination info.");
         }
-        String criterion = "";
-        Slice<Course> courses = null;
-        if (filter.getFilter() == null || filter.getFilter().isEmpty()) {
-            courses = courseRepository.findAll(PageRequest.of(0, 20));
+        Pageable pageable = filter.getPagination().toPageable(SORT_KEYS);
+        return queryResultCache.get(EntityTypeEnum.COURSE, filter,
+                key -> singleFlight.execute(key, () -> loadCourses(filter.normalizedFilter(), pageable)));
+    }
+
+    @Override
+    public Slice<CourseDto> searchCourses(StructuredFilterDto filter) {
+        if (filter == null || filter.getPagination() == null) {
+            throw new DomainException(ServerErrorEnum.FILTER_MISSING, "Filter is null or has no pagination info.");
+        }
+        Pageable pageable = filter.getPagination().toPageable(SORT_KEYS);
+        Specification<Course> specification = CourseSpecifications.matching(filter);
+        return queryResultCache.get(EntityTypeEnum.COURSE, filter,
+                key -> singleFlight.execute(key, () -> toDtoSlice(
+                        SpecificationSlices.findSlice(courseRepository, specification, pageable))));
+    }
 
+    private Slice<CourseDto> loadCourses(String criterion, Pageable pageable) {
+        Slice<Course> courses = null;
+        if (criterion.isEmpty()) {
+            courses = courseRepository.findAllBy(pageable);
         } else {
-            criterion = filter.getFilter();
             courses = courseRepository
                     .findByCodeContainsOrTitleContainsOrDescriptionContains(
                             criterion,
                             criterion,
                             criterion,
-                            PageRequest.of(
-                                    filter.getPagination().getPageNumber(),
-                                    filter.getPagination().getPageSize()));
+                            pageable);
         }
 
-        List<CourseDto> dtos = courses.stream().map(courseMapper::toDto).toList();
+        return toDtoSlice(courses);
+    }
+
+    private Slice<CourseDto> toDtoSlice(Slice<Course> courses) {
+        List<CourseDto> dtos = withRosters(courses.stream().map(courseMapper::toDto).toList());
         Slice<CourseDto> result = new SliceImpl<>(dtos, courses.getPageable(), courses.hasNext());
         return result;
     }
 
+    /**
+     * Fills the students of the given courses from their ACTIVE enrollments,
+     * one statement for the whole list.
+     */
+    private List<CourseDto> withRosters(List<CourseDto> courses) {
+        Map<Long, List<StudentDto>> rosters = new HashMap<>();
+        for (CourseDto course : courses) {
+            course.setStudents(new ArrayList<>());
+            rosters.put(course.getId(), course.getStudents());
+        }
+        if (!rosters.isEmpty()) {
+            enrollmentRepository.findActiveStudentsByCourseIdIn(rosters.keySet())
+                    .forEach(student -> rosters.get(student.courseId()).add(courseMapper.mapStudentSummary(student)));
+        }
+        return courses;
+    }
+
     @Override
+    @Transactional
     public void deleteCourse(LongIdDto courseId) {
         if (courseId == null || courseId.getId() == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_NOT_FOUND);
-            throw new TestServerRuntimeException("Course id is null " + courseId);
+            throw new DomainException(ServerErrorEnum.COURSE_NOT_FOUND, "Course id is null " + courseId);
         }
 
-        Course course = courseRepository.findById(courseId.getId()).orElse(null);
-        if (course == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_NOT_FOUND);
-            throw new TestServerRuntimeException("Course id not found " + courseId);
+        // Guards use EXISTS queries: the course is never loaded
+        Long id = courseId.getId();
+        if (!courseRepository.existsById(id)) {
+            throw new DomainException(ServerErrorEnum.COURSE_NOT_FOUND, "Course id not found " + courseId);
+        }
+
+        if (courseRepository.existsByIdAndTeacherIsNotNull(id)) {
+            throw new DomainException(ServerErrorEnum.DELETE_COURSE_NOT_ALLOWED, "Course has teacher and cannot be deleted.");
         }
 
-        if (course.getTeacher() != null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.DELETE_COURSE_NOT_ALLOWED);
-            throw new TestServerRuntimeException("Course has teacher and cannot be deleted.");
+        // Enrollment history goes with the course (ON DELETE CASCADE)
+        if (studentRepository.existsByCourse_Id(id)
+                || enrollmentRepository.existsByCourse_IdAndStatus(id, EnrollmentStatusEnum.ACTIVE)) {
+            throw new DomainException(ServerErrorEnum.DELETE_COURSE_NOT_ALLOWED, "Course has students and cannot be deleted.");
         }
 
-        if (course.getStudents() == null || course.getStudents().isEmpty()) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.DELETE_COURSE_NOT_ALLOWED);
-            throw new TestServerRuntimeException("Course has students and cannot be deleted.");
+        // The delete re-checks the references: 0 rows means one appeared after the guards
+        if (courseRepository.deleteUnreferencedByIdIn(List.of(id)) == 0) {
+            throw new DomainException(ServerErrorEnum.DELETE_COURSE_NOT_ALLOWED, "Course became referenced and cannot be deleted.");
         }
+        queryResultCache.invalidate(EntityTypeEnum.COURSE);
+    }
 
-        courseRepository.delete(course);
+    @Override
+    @Transactional
+    public BulkDeleteResultDto bulkDeleteCourses(LongIdListDto ids) {
+        BulkDeleteResultDto result = BulkDeletes.delete(ids,
+                courseRepository::findExistingIds,
+                courseRepository::deleteUnreferencedByIdIn,
+                ServerErrorEnum.DELETE_COURSE_NOT_ALLOWED);
+        queryResultCache.invalidate(EntityTypeEnum.COURSE);
+        return result;
     }
 
     @Override
     public CourseDto getCourse(LongIdDto courseId) {
         if (courseId == null || courseId.getId() == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_MISSING);
-            throw new TestServerRuntimeException("Course id is null " + courseId);
+            throw new DomainException(ServerErrorEnum.COURSE_MISSING, "Course id is null " + courseId);
         }
 
-        Course course = courseRepository.findById(courseId.getId()).orElse(null);
-        if (course == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_NOT_FOUND);
-            throw new TestServerRuntimeException("Course id not found " + courseId);
+        Long id = courseId.getId();
+        CourseDto res = singleFlight.execute(SingleFlight.key("course:get", id),
+                () -> courseRepository.findById(id)
+                        .map(course -> withRosters(List.of(courseMapper.toDto(course))).get(0))
+                        .orElse(null));
+        if (res == null) {
+            throw new DomainException(ServerErrorEnum.COURSE_NOT_FOUND, "Course id not found " + courseId);
         }
 
-        CourseDto res = courseMapper.toDto(course);
         return res;
     }
 
@@ -122,25 +196,21 @@ public class CourseServiceImpl implements CourseService {
         Long teacherId = assoc.getIdTeacher();
 
         if (courseId == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_MISSING);
-            throw new TestServerRuntimeException("Course id is null " + courseId);
+            throw new DomainException(ServerErrorEnum.COURSE_MISSING, "Course id is null " + courseId);
         }
 
         Course course = courseRepository.findById(courseId).orElse(null);
         if (course == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_NOT_FOUND);
-            throw new TestServerRuntimeException("Course id not found " + courseId);
+            throw new DomainException(ServerErrorEnum.COURSE_NOT_FOUND, "Course id not found " + courseId);
         }
 
         if (teacherId == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.TEACHER_MISSING);
-            throw new TestServerRuntimeException("Teacher id is null " + courseId);
+            throw new DomainException(ServerErrorEnum.TEACHER_MISSING, "Teacher id is null " + courseId);
         }
 
         Teacher teacher = teacherRepository.findById(teacherId).orElse(null);
         if (teacher == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.TEACHER_NOT_FOUND);
-            throw new TestServerRuntimeException("Teacher id not found " + courseId);
+            throw new DomainException(ServerErrorEnum.TEACHER_NOT_FOUND, "Teacher id not found " + courseId);
         }
 
         course.setTeacher(teacher);
@@ -155,6 +225,7 @@ public class CourseServiceImpl implements CourseService {
             teacher.setCourses(list);
         }
         teacherRepository.save(teacher);
+        queryResultCache.invalidate(EntityTypeEnum.COURSE, EntityTypeEnum.TEACHER);
     }
 
     @Override
@@ -163,25 +234,21 @@ public class CourseServiceImpl implements CourseService {
         Long teacherId = assoc.getIdTeacher();
 
         if (courseId == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_NOT_FOUND);
-            throw new TestServerRuntimeException("Course id is null " + courseId);
+            throw new DomainException(ServerErrorEnum.COURSE_NOT_FOUND, "Course id is null " + courseId);
         }
 
         Course course = courseRepository.findById(courseId).orElse(null);
         if (course == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_NOT_FOUND);
-            throw new TestServerRuntimeException("Course id not found " + courseId);
+            throw new DomainException(ServerErrorEnum.COURSE_NOT_FOUND, "Course id not found " + courseId);
         }
 
         if (teacherId == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.TEACHER_MISSING);
-            throw new TestServerRuntimeException("Teacher id is null " + courseId);
+            throw new DomainException(ServerErrorEnum.TEACHER_MISSING, "Teacher id is null " + courseId);
         }
 
         Teacher teacher = teacherRepository.findById(teacherId).orElse(null);
         if (teacher == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.TEACHER_NOT_FOUND);
-            throw new TestServerRuntimeException("Teacher id not found " + courseId);
+            throw new DomainException(ServerErrorEnum.TEACHER_NOT_FOUND, "Teacher id not found " + courseId);
         }
 
         course.setTeacher(null);
@@ -193,5 +260,6 @@ public class CourseServiceImpl implements CourseService {
             teacher.setCourses(new ArrayList<>());
         }
         teacherRepository.save(teacher);
+        queryResultCache.invalidate(EntityTypeEnum.COURSE, EntityTypeEnum.TEACHER);
     }
 }
@@ -0,0 +1,323 @@
+package al.polis.appserver.service.impl;
+
+import al.polis.appserver.cache.QueryResultCache;
+import al.polis.appserver.diagnostics.ConnectionWaitTracker;
+import al.polis.appserver.diagnostics.EndpointResourceRegistry;
+import al.polis.appserver.dto.AdmissionDiagnosticsDto;
+import al.polis.appserver.dto.DiagnosticsDto;
+import al.polis.appserver.dto.EndpointGuardDto;
+import al.polis.appserver.dto.EndpointResourceDto;
+import al.polis.appserver.dto.EntityStatisticsDto;
+import al.polis.appserver.dto.GcDiagnosticsDto;
+import al.polis.appserver.dto.HibernateDiagnosticsDto;
+import al.polis.appserver.dto.JvmDiagnosticsDto;
+import al.polis.appserver.dto.PoolDiagnosticsDto;
+import al.polis.appserver.dto.QueryCacheDiagnosticsDto;
+import al.polis.appserver.dto.QueryStatisticsDto;
+import al.polis.appserver.resilience.AdmissionController;
+import al.polis.appserver.resilience.EndpointClassEnum;
+import al.polis.appserver.resilience.EndpointGuard;
+import al.polis.appserver.resilience.EndpointGuards;
+import al.polis.appserver.service.DiagnosticsService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.MonitorInfo;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads the counters the pool, the caches, Hibernate and the JVM already
+ * keep. Nothing here walks data proportional to traffic except the Hibernate
+ * per-query statistics, which Hibernate caps
+ * ({@code hibernate.statistics.query_max_size}), so the summary is cheap
+ * enough to poll every few seconds. The thread dump is the exception and is
+ * kept on its own endpoint.
+ */
+@Service
+@AllArgsConstructor
+public class DiagnosticsServiceImpl implements DiagnosticsService {
+
+    private static final int SLOWEST_QUERIES = 10;
+
+    private final EndpointResourceRegistry endpointResourceRegistry;
+    private final DataSource dataSource;
+    private final ConnectionWaitTracker connectionWaitTracker;
+    private final QueryResultCache queryResultCache;
+    private final EntityManagerFactory entityManagerFactory;
+    // absent with appserver.resilience.enabled=false
+    private final ObjectProvider<EndpointGuards> endpointGuards;
+    // absent with appserver.admission.enabled=false
+    private final ObjectProvider<AdmissionController> admissionController;
+
+    @Override
+    public DiagnosticsDto getDiagnostics() {
+        DiagnosticsDto dto = new DiagnosticsDto();
+        dto.setTimestamp(Instant.now());
+        dto.setPool(pool());
+        dto.setAdmission(admission());
+        dto.setEndpointGuards(endpointGuards());
+        dto.setQueryCache(queryCache());
+        dto.setHibernate(hibernate());
+        dto.setJvm(jvm());
+        return dto;
+    }
+
+    @Override
+    public String getThreadDump() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        StringBuilder dump = new StringBuilder(64 * 1024);
+        dump.append("Thread dump at ").append(Instant.now()).append("\n\n");
+        for (ThreadInfo info : threads.dumpAllThreads(threads.isObjectMonitorUsageSupported(),
+                threads.isSynchronizerUsageSupported())) {
+            appendThread(dump, info);
+        }
+        long[] deadlocked = threads.findDeadlockedThreads();
+        if (deadlocked != null) {
+            dump.append("Deadlocked threads: ").append(Arrays.toString(deadlocked)).append('\n');
+        }
+        return dump.toString();
+    }
+
+    @Override
+    public List<EndpointResourceDto> getEndpointResources() {
+        return endpointResourceRegistry.snapshot();
+    }
+
+    @Override
+    public void resetEndpointResources() {
+        endpointResourceRegistry.reset();
+    }
+
+    private AdmissionDiagnosticsDto admission() {
+        AdmissionController admission = admissionController.getIfAvailable();
+        if (admission == null) {
+            return null;
+        }
+        AdmissionDiagnosticsDto dto = new AdmissionDiagnosticsDto();
+        dto.setLimit(admission.getLimit());
+        dto.setInFlight(admission.getInFlight());
+        dto.setLongRttMicros(admission.getGradientLimit().getLongRttNanos() / 1000);
+        dto.setLastWindowRttMicros(admission.getGradientLimit().getLastWindowRttNanos() / 1000);
+        Map<String, Long> rejected = new TreeMap<>();
+        for (EndpointClassEnum endpointClass : EndpointClassEnum.values()) {
+            rejected.put(endpointClass.name(), admission.getRejected(endpointClass));
+        }
+        dto.setRejected(rejected);
+        return dto;
+    }
+
+    private List<EndpointGuardDto> endpointGuards() {
+        EndpointGuards guards = endpointGuards.getIfAvailable();
+        if (guards == null) {
+            return List.of();
+        }
+        return guards.all().stream().map(DiagnosticsServiceImpl::endpointGuard).toList();
+    }
+
+    private static EndpointGuardDto endpointGuard(EndpointGuard guard) {
+        EndpointGuardDto dto = new EndpointGuardDto();
+        dto.setEndpointClass(guard.getEndpointClass().name());
+        dto.setMaxConcurrent(guard.getBulkhead().getMaxConcurrent());
+        dto.setInUse(guard.getBulkhead().getInUse());
+        dto.setWaiting(guard.getBulkhead().getWaiting());
+        dto.setBulkheadRejected(guard.getBulkhead().getRejected());
+        dto.setCircuitState(guard.getCircuitBreaker().getState().name());
+        dto.setCircuitRejected(guard.getCircuitBreaker().getRejected());
+        dto.setQueryTimeoutSeconds(guard.getQueryTimeoutSeconds());
+        return dto;
+    }
+
+    private PoolDiagnosticsDto pool() {
+        HikariDataSource hikari;
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return null;
+            }
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException ex) {
+            return null;
+        }
+        PoolDiagnosticsDto dto = new PoolDiagnosticsDto();
+        dto.setPoolName(hikari.getPoolName());
+        dto.setMaximumPoolSize(hikari.getMaximumPoolSize());
+        dto.setConnectionTimeoutMillis(hikari.getConnectionTimeout());
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool != null) {
+            dto.setActive(pool.getActiveConnections());
+            dto.setIdle(pool.getIdleConnections());
+            dto.setTotal(pool.getTotalConnections());
+            dto.setThreadsAwaitingConnection(pool.getThreadsAwaitingConnection());
+            dto.setSaturation((double) pool.getActiveConnections() / hikari.getMaximumPoolSize());
+        }
+        long acquisitions = connectionWaitTracker.getAcquisitions();
+        long usages = connectionWaitTracker.getUsages();
+        dto.setAcquisitions(acquisitions);
+        dto.setAcquireMicrosAverage(acquisitions == 0 ? 0 : connectionWaitTracker.getAcquireNanos() / acquisitions / 1_000);
+        dto.setAcquireMicrosMax(connectionWaitTracker.getMaxAcquireNanos() / 1_000);
+        dto.setUsageMillisAverage(usages == 0 ? 0 : connectionWaitTracker.getUsageMillis() / usages);
+        dto.setUsageMillisMax(connectionWaitTracker.getMaxUsageMillis());
+        dto.setTimeouts(connectionWaitTracker.getTimeouts());
+        return dto;
+    }
+
+    private QueryCacheDiagnosticsDto queryCache() {
+        QueryCacheDiagnosticsDto dto = new QueryCacheDiagnosticsDto();
+        dto.setSize(queryResultCache.getSize());
+        dto.setHits(queryResultCache.getHits());
+        dto.setMisses(queryResultCache.getMisses());
+        dto.setHitRatio(ratio(dto.getHits(), dto.getMisses()));
+        return dto;
+    }
+
+    private HibernateDiagnosticsDto hibernate() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        HibernateDiagnosticsDto dto = new HibernateDiagnosticsDto();
+        dto.setStatisticsEnabled(statistics.isStatisticsEnabled());
+        dto.setSessionOpenCount(statistics.getSessionOpenCount());
+        dto.setTransactionCount(statistics.getTransactionCount());
+        dto.setPrepareStatementCount(statistics.getPrepareStatementCount());
+        dto.setQueryExecutionCount(statistics.getQueryExecutionCount());
+        dto.setQueryExecutionMaxTimeMillis(statistics.getQueryExecutionMaxTime());
+        dto.setSlowestQuery(statistics.getQueryExecutionMaxTimeQueryString());
+        dto.setSlowestQueries(Arrays.stream(statistics.getQueries())
+                .map(query -> queryStatistics(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong(QueryStatisticsDto::getMaxMillis).reversed())
+                .limit(SLOWEST_QUERIES)
+                .toList());
+        dto.setEntityLoadCount(statistics.getEntityLoadCount());
+        dto.setEntityFetchCount(statistics.getEntityFetchCount());
+        dto.setCollectionFetchCount(statistics.getCollectionFetchCount());
+        dto.setEntities(Arrays.stream(statistics.getEntityNames())
+                .map(entity -> entityStatistics(entity, statistics.getEntityStatistics(entity)))
+                .toList());
+        dto.setSecondLevelCacheHitCount(statistics.getSecondLevelCacheHitCount());
+        dto.setSecondLevelCacheMissCount(statistics.getSecondLevelCacheMissCount());
+        dto.setSecondLevelCachePutCount(statistics.getSecondLevelCachePutCount());
+        dto.setSecondLevelCacheHitRatio(ratio(dto.getSecondLevelCacheHitCount(), dto.getSecondLevelCacheMissCount()));
+        dto.setQueryCacheHitCount(statistics.getQueryCacheHitCount());
+        dto.setQueryCacheMissCount(statistics.getQueryCacheMissCount());
+        return dto;
+    }
+
+    private static QueryStatisticsDto queryStatistics(String query, QueryStatistics statistics) {
+        QueryStatisticsDto dto = new QueryStatisticsDto();
+        dto.setQuery(query);
+        dto.setExecutionCount(statistics.getExecutionCount());
+        dto.setAverageMillis(statistics.getExecutionAvgTime());
+        dto.setMaxMillis(statistics.getExecutionMaxTime());
+        dto.setRows(statistics.getExecutionRowCount());
+        return dto;
+    }
+
+    private static EntityStatisticsDto entityStatistics(String entity, EntityStatistics statistics) {
+        EntityStatisticsDto dto = new EntityStatisticsDto();
+        dto.setEntity(entity.substring(entity.lastIndexOf('.') + 1));
+        dto.setLoadCount(statistics.getLoadCount());
+        dto.setFetchCount(statistics.getFetchCount());
+        dto.setInsertCount(statistics.getInsertCount());
+        dto.setUpdateCount(statistics.getUpdateCount());
+        dto.setDeleteCount(statistics.getDeleteCount());
+        return dto;
+    }
+
+    private static JvmDiagnosticsDto jvm() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+
+        JvmDiagnosticsDto dto = new JvmDiagnosticsDto();
+        dto.setUptimeMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+        dto.setAvailableProcessors(os.getAvailableProcessors());
+        dto.setSystemLoadAverage(os.getSystemLoadAverage());
+        dto.setHeapUsed(heap.getUsed());
+        dto.setHeapCommitted(heap.getCommitted());
+        dto.setHeapMax(heap.getMax());
+        dto.setNonHeapUsed(memory.getNonHeapMemoryUsage().getUsed());
+        dto.setGarbageCollectors(ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .map(DiagnosticsServiceImpl::gc)
+                .toList());
+        dto.setThreadCount(threads.getThreadCount());
+        dto.setDaemonThreadCount(threads.getDaemonThreadCount());
+        dto.setPeakThreadCount(threads.getPeakThreadCount());
+        // without stack traces this is one pass over the thread table
+        Map<String, Integer> states = new TreeMap<>();
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null) {
+                states.merge(info.getThreadState().name(), 1, Integer::sum);
+            }
+        }
+        dto.setThreadStates(states);
+        return dto;
+    }
+
+    private static GcDiagnosticsDto gc(GarbageCollectorMXBean bean) {
+        GcDiagnosticsDto dto = new GcDiagnosticsDto();
+        dto.setName(bean.getName());
+        dto.setCollectionCount(bean.getCollectionCount());
+        dto.setCollectionTimeMillis(bean.getCollectionTime());
+        return dto;
+    }
+
+    private static double ratio(long hits, long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    // ThreadInfo.toString() stops after eight frames, so the dump is formatted here
+    private static void appendThread(StringBuilder dump, ThreadInfo info) {
+        dump.append('"').append(info.getThreadName()).append("\" #").append(info.getThreadId());
+        if (info.isDaemon()) {
+            dump.append(" daemon");
+        }
+        dump.append(" prio=").append(info.getPriority())
+                .append("\n   java.lang.Thread.State: ").append(info.getThreadState());
+        if (info.getLockName() != null) {
+            dump.append(" on ").append(info.getLockName());
+        }
+        if (info.getLockOwnerName() != null) {
+            dump.append(" owned by \"").append(info.getLockOwnerName()).append("\" #").append(info.getLockOwnerId());
+        }
+        dump.append('\n');
+        StackTraceElement[] stack = info.getStackTrace();
+        MonitorInfo[] monitors = info.getLockedMonitors();
+        for (int depth = 0; depth < stack.length; depth++) {
+            dump.append("\tat ").append(stack[depth]).append('\n');
+            for (MonitorInfo monitor : monitors) {
+                if (monitor.getLockedStackDepth() == depth) {
+                    dump.append("\t- locked ").append(monitor).append('\n');
+                }
+            }
+        }
+        LockInfo[] synchronizers = info.getLockedSynchronizers();
+        if (synchronizers.length > 0) {
+            dump.append("\n   Locked ownable synchronizers:\n");
+            for (LockInfo synchronizer : synchronizers) {
+                dump.append("\t- ").append(synchronizer).append('\n');
+            }
+        }
+        dump.append('\n');
+    }
+}
@@ -0,0 +1,172 @@
+package al.polis.appserver.service.impl;
+
+import al.polis.appserver.cache.EntityTypeEnum;
+import al.polis.appserver.cache.QueryResultCache;
+import al.polis.appserver.communication.Pagination;
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.dto.EnrollmentDto;
+import al.polis.appserver.dto.EnrollmentFilterDto;
+import al.polis.appserver.exception.DomainException;
+import al.polis.appserver.mapper.EnrollmentMapper;
+import al.polis.appserver.model.Enrollment;
+import al.polis.appserver.model.EnrollmentStatusEnum;
+import al.polis.appserver.repo.CourseRepository;
+import al.polis.appserver.repo.CourseSummary;
+import al.polis.appserver.repo.EnrollmentRef;
+import al.polis.appserver.repo.EnrollmentRepository;
+import al.polis.appserver.repo.StudentRepository;
+import al.polis.appserver.repo.StudentSummary;
+import al.polis.appserver.service.EnrollmentService;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor
+public class EnrollmentServiceImpl implements EnrollmentService {
+
+    // enrollment.term is VARCHAR(16)
+    static final int TERM_MAX_LENGTH = 16;
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentMapper enrollmentMapper;
+    private final QueryResultCache queryResultCache;
+
+    @Override
+    @Transactional
+    public EnrollmentDto enroll(EnrollmentDto enrollment) {
+        if (enrollment == null || enrollment.getIdStudent() == null || enrollment.getIdCourse() == null) {
+            throw new DomainException(ServerErrorEnum.ENROLLMENT_MISSING, "Enrollment is null or incomplete " + enrollment);
+        }
+        String requestedTerm = enrollment.getTerm() != null && !enrollment.getTerm().isBlank()
+                ? enrollment.getTerm().trim()
+                : null;
+        if (requestedTerm != null && requestedTerm.length() > TERM_MAX_LENGTH) {
+            throw new DomainException(ServerErrorEnum.ENROLLMENT_TERM_INVALID, "Enrollment term is too long " + enrollment);
+        }
+
+        List<CourseSummary> course = courseRepository.findSummariesByIdIn(List.of(enrollment.getIdCourse()));
+        if (course.isEmpty()) {
+            throw new DomainException(ServerErrorEnum.COURSE_NOT_FOUND, "Course id not found " + enrollment.getIdCourse());
+        }
+        if (!studentRepository.existsById(enrollment.getIdStudent())) {
+            throw new DomainException(ServerErrorEnum.STUDENT_NOT_FOUND, "Student id not found " + enrollment.getIdStudent());
+        }
+
+        String term = requestedTerm != null ? requestedTerm : defaultTerm(course.get(0));
+        Enrollment entity = enrollmentRepository
+                .findByStudent_IdAndCourse_IdAndTerm(enrollment.getIdStudent(), enrollment.getIdCourse(), term)
+                .orElseGet(() -> {
+                    Enrollment created = new Enrollment();
+                    created.setStudent(studentRepository.getReferenceById(enrollment.getIdStudent()));
+                    created.setCourse(courseRepository.getReferenceById(enrollment.getIdCourse()));
+                    created.setTerm(term);
+                    return created;
+                });
+        entity.setStatus(EnrollmentStatusEnum.ACTIVE);
+        Enrollment res = enrollmentRepository.save(entity);
+        queryResultCache.invalidate(EntityTypeEnum.STUDENT, EntityTypeEnum.COURSE);
+        return enrollmentMapper.toDto(res);
+    }
+
+    /**
+     * Marks the enrollment DROPPED; without a term every active enrollment of
+     * the student in the course is dropped. Rows are kept as history.
+     */
+    @Override
+    @Transactional
+    public void drop(EnrollmentDto enrollment) {
+        if (enrollment == null || enrollment.getIdStudent() == null || enrollment.getIdCourse() == null) {
+            throw new DomainException(ServerErrorEnum.ENROLLMENT_MISSING, "Enrollment is null or incomplete " + enrollment);
+        }
+
+        List<Enrollment> enrollments;
+        if (enrollment.getTerm() == null || enrollment.getTerm().isBlank()) {
+            enrollments = enrollmentRepository.findByStudent_IdAndCourse_IdAndStatus(
+                    enrollment.getIdStudent(), enrollment.getIdCourse(), EnrollmentStatusEnum.ACTIVE);
+        } else {
+            enrollments = enrollmentRepository.findByStudent_IdAndCourse_IdAndTerm(
+                    enrollment.getIdStudent(), enrollment.getIdCourse(), enrollment.getTerm().trim()).stream().toList();
+        }
+        if (enrollments.isEmpty()) {
+            throw new DomainException(ServerErrorEnum.ENROLLMENT_NOT_FOUND, "Enrollment not found " + enrollment);
+        }
+
+        enrollments.forEach(e -> e.setStatus(EnrollmentStatusEnum.DROPPED));
+        queryResultCache.invalidate(EntityTypeEnum.STUDENT, EntityTypeEnum.COURSE);
+    }
+
+    /**
+     * Two statements per page whatever its size: the enrollment page from
+     * the covering roster index, then its students by primary key.
+     */
+    @Override
+    public Slice<EnrollmentDto> getRoster(EnrollmentFilterDto filter) {
+        if (filter == null || filter.getIdCourse() == null || filter.getPagination() == null) {
+            throw new DomainException(ServerErrorEnum.FILTER_MISSING, "Roster filter is null or incomplete " + filter);
+        }
+
+        Slice<EnrollmentRef> refs = enrollmentRepository.findRoster(filter.getIdCourse(), statusOf(filter),
+                filter.getTerm(), unsortedPageable(filter.getPagination()));
+        Set<Long> studentIds = refs.stream().map(EnrollmentRef::studentId).collect(Collectors.toSet());
+        Map<Long, StudentSummary> students = studentIds.isEmpty() ? Map.of()
+                : studentRepository.findSummariesByIdIn(studentIds).stream()
+                .collect(Collectors.toMap(StudentSummary::id, Function.identity()));
+        return refs.map(ref -> {
+            EnrollmentDto dto = enrollmentMapper.toDto(ref);
+            dto.setStudent(enrollmentMapper.toStudentDto(students.get(ref.studentId())));
+            return dto;
+        });
+    }
+
+    /**
+     * The "my courses" page: enrollments from the covering schedule index,
+     * then their courses by primary key.
+     */
+    @Override
+    public Slice<EnrollmentDto> getSchedule(EnrollmentFilterDto filter) {
+        if (filter == null || filter.getIdStudent() == null || filter.getPagination() == null) {
+            throw new DomainException(ServerErrorEnum.FILTER_MISSING, "Schedule filter is null or incomplete " + filter);
+        }
+
+        Slice<EnrollmentRef> refs = enrollmentRepository.findSchedule(filter.getIdStudent(), statusOf(filter),
+                filter.getTerm(), unsortedPageable(filter.getPagination()));
+        Set<Long> courseIds = refs.stream().map(EnrollmentRef::courseId).collect(Collectors.toSet());
+        Map<Long, CourseSummary> courses = courseIds.isEmpty() ? Map.of()
+                : courseRepository.findSummariesByIdIn(courseIds).stream()
+                .collect(Collectors.toMap(CourseSummary::id, Function.identity()));
+        return refs.map(ref -> {
+            EnrollmentDto dto = enrollmentMapper.toDto(ref);
+            dto.setCourse(enrollmentMapper.toCourseDto(courses.get(ref.courseId())));
+            return dto;
+        });
+    }
+
+    private static EnrollmentStatusEnum statusOf(EnrollmentFilterDto filter) {
+        return filter.getStatus() == null ? EnrollmentStatusEnum.ACTIVE : filter.getStatus();
+    }
+
+    // Pages follow the index order, so a requested sort is refused
+    private static Pageable unsortedPageable(Pagination pagination) {
+        pagination.toSort(Set.of());
+        return pagination.toPageable();
+    }
+
+    /**
+     * The term used when none is given, also the one of the legacy
+     * student-course association.
+     */
+    static String defaultTerm(CourseSummary course) {
+        return course.year() == null ? "-" : String.valueOf(course.year());
+    }
+}
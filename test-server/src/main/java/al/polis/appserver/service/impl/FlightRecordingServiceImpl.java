@@ -0,0 +1,149 @@
+package al.polis.appserver.service.impl;
+
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.dto.FlightRecordingDto;
+import al.polis.appserver.dto.FlightRecordingStartDto;
+import al.polis.appserver.exception.DomainException;
+import al.polis.appserver.service.FlightRecordingService;
+import al.polis.appserver.trace.FlightRecorderEvents;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Runs at most one in-process flight recording at a time. The JDK settings
+ * are used as they are; the application's service, repository and JDBC
+ * events are added on top with {@code appserver.jfr.threshold-millis}.
+ */
+@Service
+@Slf4j
+public class FlightRecordingServiceImpl implements FlightRecordingService {
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private final Path directory;
+    private final Duration threshold;
+
+    private Recording recording;
+    private String settings;
+    private Path lastDump;
+
+    public FlightRecordingServiceImpl(@Value("${appserver.jfr.directory:logs/jfr}") String directory,
+                                      @Value("${appserver.jfr.threshold-millis:0}") long thresholdMillis) {
+        this.directory = Path.of(directory);
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @Override
+    public synchronized FlightRecordingDto start(FlightRecordingStartDto request) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new DomainException(ServerErrorEnum.RECORDING_ALREADY_RUNNING,
+                    "Recording " + recording.getName() + " is already running");
+        }
+        String requested = request == null || request.getSettings() == null ? "default" : request.getSettings();
+        Long maxAge = request == null ? null : request.getMaxAgeSeconds();
+        Long maxSize = request == null ? null : request.getMaxSizeMb();
+        if (!SETTINGS.contains(requested) || maxAge != null && maxAge <= 0 || maxSize != null && maxSize <= 0) {
+            throw new DomainException(ServerErrorEnum.RECORDING_SETTINGS_INVALID, "Invalid recording settings " + request);
+        }
+
+        Recording next;
+        try {
+            next = new Recording(Configuration.getConfiguration(requested));
+        } catch (IOException | ParseException ex) {
+            throw new DomainException(ServerErrorEnum.RECORDING_FAILED, "Could not load settings " + requested);
+        }
+        next.setName("appserver-" + System.currentTimeMillis());
+        next.setToDisk(true);
+        if (maxAge != null) {
+            next.setMaxAge(Duration.ofSeconds(maxAge));
+        }
+        if (maxSize != null) {
+            next.setMaxSize(maxSize * 1024 * 1024);
+        }
+        for (String event : FlightRecorderEvents.ALL) {
+            next.enable(event).withThreshold(threshold);
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        next.start();
+        recording = next;
+        settings = requested;
+        lastDump = null;
+        log.info("Flight recording {} started with {} settings", next.getName(), requested);
+        return toDto();
+    }
+
+    @Override
+    public synchronized FlightRecordingDto stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new DomainException(ServerErrorEnum.RECORDING_NOT_RUNNING, "No running recording to stop");
+        }
+        recording.stop();
+        dumpRecording();
+        log.info("Flight recording {} stopped and written to {}", recording.getName(), lastDump);
+        return toDto();
+    }
+
+    @Override
+    public synchronized FlightRecordingDto status() {
+        if (recording == null) {
+            throw new DomainException(ServerErrorEnum.RECORDING_NOT_RUNNING, "No recording has been started");
+        }
+        return toDto();
+    }
+
+    @Override
+    public synchronized Path dump() {
+        if (recording == null) {
+            throw new DomainException(ServerErrorEnum.RECORDING_NOT_RUNNING, "No recording to dump");
+        }
+        return dumpRecording();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Path dumpRecording() {
+        Path file = directory.resolve(recording.getName() + "-" + System.currentTimeMillis() + ".jfr");
+        try {
+            Files.createDirectories(directory);
+            recording.dump(file);
+        } catch (IOException ex) {
+            log.error("Could not dump recording {} to {}", recording.getName(), file, ex);
+            throw new DomainException(ServerErrorEnum.RECORDING_FAILED, "Could not write " + file);
+        }
+        lastDump = file;
+        return file;
+    }
+
+    private FlightRecordingDto toDto() {
+        FlightRecordingDto dto = new FlightRecordingDto();
+        dto.setId(recording.getId());
+        dto.setName(recording.getName());
+        dto.setState(recording.getState().name());
+        dto.setSettings(settings);
+        dto.setStartTime(recording.getStartTime());
+        dto.setStopTime(recording.getStopTime());
+        dto.setSize(recording.getSize());
+        dto.setFile(lastDump == null ? null : lastDump.toString());
+        return dto;
+    }
+}
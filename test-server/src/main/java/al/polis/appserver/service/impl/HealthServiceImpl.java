@@ -0,0 +1,151 @@
+package al.polis.appserver.service.impl;
+
+import al.polis.appserver.dto.HealthCheckDto;
+import al.polis.appserver.dto.HealthDto;
+import al.polis.appserver.service.HealthService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Liveness only reflects the application's own state. Readiness also
+ * requires start-up (including warm-up runners) to be complete, headroom in
+ * the connection pool and a valid database connection. The readiness result
+ * is cached for {@code appserver.health.cache-millis} and refreshed by one
+ * probe at a time, so however often the load balancer polls, at most one
+ * connection per interval is borrowed for it, and none while the pool has
+ * no headroom.
+ */
+@Service
+@Slf4j
+public class HealthServiceImpl implements HealthService {
+
+    private final ApplicationAvailability availability;
+    private final DataSource dataSource;
+    private final long cacheNanos;
+    private final double maxPoolSaturation;
+    private final int databaseTimeoutSeconds;
+    private final ReentrantLock refreshing = new ReentrantLock();
+
+    private volatile CachedHealth cached;
+
+    public HealthServiceImpl(ApplicationAvailability availability,
+                             DataSource dataSource,
+                             @Value("${appserver.health.cache-millis:2000}") long cacheMillis,
+                             @Value("${appserver.health.max-pool-saturation:0.9}") double maxPoolSaturation,
+                             @Value("${appserver.health.database-timeout-seconds:1}") int databaseTimeoutSeconds) {
+        this.availability = availability;
+        this.dataSource = dataSource;
+        this.cacheNanos = cacheMillis * 1_000_000;
+        this.maxPoolSaturation = maxPoolSaturation;
+        this.databaseTimeoutSeconds = databaseTimeoutSeconds;
+    }
+
+    @Override
+    public HealthDto getLiveness() {
+        LivenessState state = availability.getLivenessState();
+        return health(List.of(new HealthCheckDto("liveness", state == LivenessState.CORRECT, state.name())));
+    }
+
+    @Override
+    public HealthDto getReadiness() {
+        CachedHealth current = cached;
+        if (current != null && current.isFresh(cacheNanos)) {
+            return current.health;
+        }
+        // while another probe refreshes, answer with the previous result
+        if (current != null && !refreshing.tryLock()) {
+            return current.health;
+        }
+        if (current == null) {
+            refreshing.lock();
+        }
+        try {
+            current = cached;
+            if (current == null || !current.isFresh(cacheNanos)) {
+                current = new CachedHealth(checkReadiness(), System.nanoTime());
+                cached = current;
+            }
+            return current.health;
+        } finally {
+            refreshing.unlock();
+        }
+    }
+
+    private HealthDto checkReadiness() {
+        List<HealthCheckDto> checks = new ArrayList<>(3);
+        ReadinessState state = availability.getReadinessState();
+        checks.add(new HealthCheckDto("startup", state == ReadinessState.ACCEPTING_TRAFFIC, state.name()));
+        HealthCheckDto pool = checkPool();
+        if (pool != null) {
+            checks.add(pool);
+        }
+        if (pool == null || pool.isUp()) {
+            checks.add(checkDatabase());
+        }
+        HealthDto health = health(checks);
+        if (!health.isUp()) {
+            log.warn("Not ready: {}", checks);
+        }
+        return health;
+    }
+
+    private HealthCheckDto checkPool() {
+        HikariPoolMXBean pool;
+        int maximum;
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return null;
+            }
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            pool = hikari.getHikariPoolMXBean();
+            maximum = hikari.getMaximumPoolSize();
+        } catch (SQLException ex) {
+            return null;
+        }
+        if (pool == null) {
+            // the pool starts with the first connection, which the database check takes
+            return new HealthCheckDto("pool", true, "not started");
+        }
+        int active = pool.getActiveConnections();
+        int waiting = pool.getThreadsAwaitingConnection();
+        boolean up = waiting == 0 && active <= maxPoolSaturation * maximum;
+        return new HealthCheckDto("pool", up, active + "/" + maximum + " active, " + waiting + " waiting");
+    }
+
+    private HealthCheckDto checkDatabase() {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean valid = connection.isValid(databaseTimeoutSeconds);
+            return new HealthCheckDto("database", valid, valid ? "valid" : "validation failed");
+        } catch (SQLException ex) {
+            return new HealthCheckDto("database", false, ex.getMessage());
+        }
+    }
+
+    private static HealthDto health(List<HealthCheckDto> checks) {
+        HealthDto health = new HealthDto();
+        health.setUp(checks.stream().allMatch(HealthCheckDto::isUp));
+        health.setCheckedAt(Instant.now());
+        health.setChecks(checks);
+        return health;
+    }
+
+    private record CachedHealth(HealthDto health, long checkedNanos) {
+        boolean isFresh(long maxAgeNanos) {
+            return System.nanoTime() - checkedNanos < maxAgeNanos;
+        }
+    }
+}
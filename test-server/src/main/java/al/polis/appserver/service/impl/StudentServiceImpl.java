@@ -1,42 +1,60 @@
 package al.polis.appserver.service.impl;
 
-import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.cache.EntityTypeEnum;
+import al.polis.appserver.cache.QueryResultCache;
+import al.polis.appserver.cache.SingleFlight;
 import al.polis.appserver.communication.ServerErrorEnum;
 import al.polis.appserver.dto.*;
-import al.polis.appserver.exception.TestServerRuntimeException;
+import al.polis.appserver.exception.DomainException;
 import al.polis.appserver.mapper.StudentMapper;
 import al.polis.appserver.model.Course;
+import al.polis.appserver.model.EnrollmentStatusEnum;
 import al.polis.appserver.model.Student;
 import al.polis.appserver.repo.CourseRepository;
+import al.polis.appserver.repo.CourseSummary;
+import al.polis.appserver.repo.EnrollmentRepository;
 import al.polis.appserver.repo.StudentRepository;
+import al.polis.appserver.repo.spec.StudentSpecifications;
+import al.polis.appserver.repo.spec.SpecificationSlices;
+import al.polis.appserver.service.EnrollmentService;
 import al.polis.appserver.service.StudentService;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class StudentServiceImpl implements StudentService {
 
+    // Each key has its (fields..., id) index, see the V2 and V6 migrations
+    private static final Set<List<String>> SORT_KEYS = Set.of(
+            List.of("lastName"), List.of("firstName"), List.of("serialNumber"), List.of("email"),
+            List.of("lastName", "firstName"));
+
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentService enrollmentService;
     private final StudentMapper studentMapper;
+    private final SingleFlight singleFlight;
+    private final QueryResultCache queryResultCache;
 
     @Override
     @Transactional
     public StudentDto upsertStudent(StudentDto student) {
         if (student == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.STUDENT_MISSING);
-            throw new TestServerRuntimeException("Student is null");
+            throw new DomainException(ServerErrorEnum.STUDENT_MISSING, "Student is null");
         }
         Student entity = studentMapper.toEntity(student);
         Student res = studentRepository.save(entity);
+        queryResultCache.invalidate(EntityTypeEnum.STUDENT);
         StudentDto dto = studentMapper.toDto(res);
         return dto;
     }
@@ -44,25 +62,42 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public Slice<StudentDto> filterStudents(SimpleStringFilterDto filter) {
         if (filter == null || filter.getPagination() == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.STUDENT_MISSING);
-            throw new TestServerRuntimeException("Filter is null or has no pagination info.");
+            throw new DomainException(ServerErrorEnum.STUDENT_MISSING, "Filter is null or has no pagination info.");
+        }
+        Pageable pageable = filter.getPagination().toPageable(SORT_KEYS);
+        return queryResultCache.get(EntityTypeEnum.STUDENT, filter,
+                key -> singleFlight.execute(key, () -> loadStudents(filter.normalizedFilter(), pageable)));
+    }
+
+    @Override
+    public Slice<StudentDto> searchStudents(StructuredFilterDto filter) {
+        if (filter == null || filter.getPagination() == null) {
+            throw new DomainException(ServerErrorEnum.FILTER_MISSING, "Filter is null or has no pagination info.");
         }
-        String criterion = "";
+        Pageable pageable = filter.getPagination().toPageable(SORT_KEYS);
+        Specification<Student> specification = StudentSpecifications.matching(filter);
+        return queryResultCache.get(EntityTypeEnum.STUDENT, filter,
+                key -> singleFlight.execute(key, () -> toDtoSlice(
+                        SpecificationSlices.findSlice(studentRepository, specification, pageable))));
+    }
+
+    private Slice<StudentDto> loadStudents(String criterion, Pageable pageable) {
         Slice<Student> students = null;
-        if (filter.getFilter() == null || filter.getFilter().isEmpty()) {
-            students = studentRepository.findAll(PageRequest.of(0, 20));
+        if (criterion.isEmpty()) {
+            students = studentRepository.findAllBy(pageable);
         } else {
-            criterion = filter.getFilter();
             students = studentRepository
                     .findByFirstNameContainsOrLastNameContainsOrEmailContains(
                             criterion,
                             criterion,
                             criterion,
-                            PageRequest.of(
-                                    filter.getPagination().getPageNumber(),
-                                    filter.getPagination().getPageSize()));
+                            pageable);
         }
 
+        return toDtoSlice(students);
+    }
+
+    private Slice<StudentDto> toDtoSlice(Slice<Student> students) {
         List<StudentDto> dtos = students.stream().map(studentMapper::toDto).toList();
         Slice<StudentDto> result = new SliceImpl<>(dtos, students.getPageable(), students.hasNext());
         return result;
@@ -72,22 +107,36 @@ public class StudentServiceImpl implements StudentService {
     @Transactional
     public void deleteStudent(LongIdDto studentId) {
         if (studentId == null || studentId.getId() == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.STUDENT_MISSING);
-            throw new TestServerRuntimeException("Student id is null " + studentId);
+            throw new DomainException(ServerErrorEnum.STUDENT_MISSING, "Student id is null " + studentId);
         }
 
         Student student = studentRepository.findById(studentId.getId()).orElse(null);
         if (student == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.STUDENT_NOT_FOUND);
-            throw new TestServerRuntimeException("Student id not found " + studentId);
+            throw new DomainException(ServerErrorEnum.STUDENT_NOT_FOUND, "Student id not found " + studentId);
         }
 
         if (student.getCourse() != null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.DELETE_STUDENT_NOT_ALLOWED);
-            throw new TestServerRuntimeException("Student has a course and cannot be deleted.");
+            throw new DomainException(ServerErrorEnum.DELETE_STUDENT_NOT_ALLOWED, "Student has a course and cannot be deleted.");
+        }
+
+        // Enrollment history goes with the student (ON DELETE CASCADE)
+        if (enrollmentRepository.existsByStudent_IdAndStatus(student.getId(), EnrollmentStatusEnum.ACTIVE)) {
+            throw new DomainException(ServerErrorEnum.DELETE_STUDENT_NOT_ALLOWED, "Student has active enrollments and cannot be deleted.");
         }
 
         studentRepository.delete(student);
+        queryResultCache.invalidate(EntityTypeEnum.STUDENT);
+    }
+
+    @Override
+    @Transactional
+    public BulkDeleteResultDto bulkDeleteStudents(LongIdListDto ids) {
+        BulkDeleteResultDto result = BulkDeletes.delete(ids,
+                studentRepository::findExistingIds,
+                studentRepository::deleteUnreferencedByIdIn,
+                ServerErrorEnum.DELETE_STUDENT_NOT_ALLOWED);
+        queryResultCache.invalidate(EntityTypeEnum.STUDENT);
+        return result;
     }
 
     @Override
@@ -97,39 +146,32 @@ public class StudentServiceImpl implements StudentService {
         Long studentId = assoc.getIdStudent();
 
         if (courseId == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_MISSING);
-            throw new TestServerRuntimeException("Course id is null " + courseId);
+            throw new DomainException(ServerErrorEnum.COURSE_MISSING, "Course id is null " + courseId);
         }
 
-        Course course = courseRepository.findById(courseId).orElse(null);
-        if (course == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_NOT_FOUND);
-            throw new TestServerRuntimeException("Course id not found " + courseId);
+        // Existence only: the course itself is not needed
+        if (!courseRepository.existsById(courseId)) {
+            throw new DomainException(ServerErrorEnum.COURSE_NOT_FOUND, "Course id not found " + courseId);
         }
 
         if (studentId == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.STUDENT_MISSING);
-            throw new TestServerRuntimeException("Student id is null " + courseId);
+            throw new DomainException(ServerErrorEnum.STUDENT_MISSING, "Student id is null " + courseId);
         }
 
         Student student = studentRepository.findById(studentId).orElse(null);
         if (student == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.STUDENT_NOT_FOUND);
-            throw new TestServerRuntimeException("Student id not found " + courseId);
+            throw new DomainException(ServerErrorEnum.STUDENT_NOT_FOUND, "Student id not found " + courseId);
         }
 
-        student.setCourse(course);
+        // student.course stays the primary course read by existing clients;
+        // the enrollment is what lets a student attend several courses
+        student.setCourse(courseRepository.getReferenceById(courseId));
         studentRepository.save(student);
-        List<Student> list = course.getStudents();
-        if (list != null) {
-            list.removeIf(s -> s != null && s.getId().equals(studentId));
-            list.add(student);
-        } else {
-            list = new ArrayList<>();
-            list.add(student);
-            course.setStudents(list);
-        }
-        courseRepository.save(course);
+        EnrollmentDto enrollment = new EnrollmentDto();
+        enrollment.setIdStudent(studentId);
+        enrollment.setIdCourse(courseId);
+        enrollmentService.enroll(enrollment);
+        queryResultCache.invalidate(EntityTypeEnum.STUDENT, EntityTypeEnum.COURSE);
     }
 
     @Override
@@ -139,50 +181,50 @@ public class StudentServiceImpl implements StudentService {
         Long studentId = assoc.getIdStudent();
 
         if (courseId == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_MISSING);
-            throw new TestServerRuntimeException("Course id is null " + courseId);
+            throw new DomainException(ServerErrorEnum.COURSE_MISSING, "Course id is null " + courseId);
         }
 
-        Course course = courseRepository.findById(courseId).orElse(null);
-        if (course == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_NOT_FOUND);
-            throw new TestServerRuntimeException("Course id not found " + courseId);
+        // Summary only: the year gives the term of the association
+        List<CourseSummary> course = courseRepository.findSummariesByIdIn(List.of(courseId));
+        if (course.isEmpty()) {
+            throw new DomainException(ServerErrorEnum.COURSE_NOT_FOUND, "Course id not found " + courseId);
         }
 
         if (studentId == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.STUDENT_MISSING);
-            throw new TestServerRuntimeException("Student id is null " + courseId);
+            throw new DomainException(ServerErrorEnum.STUDENT_MISSING, "Student id is null " + courseId);
         }
 
         Student student = studentRepository.findById(studentId).orElse(null);
         if (student == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.STUDENT_NOT_FOUND);
-            throw new TestServerRuntimeException("Student id not found " + courseId);
+            throw new DomainException(ServerErrorEnum.STUDENT_NOT_FOUND, "Student id not found " + courseId);
         }
 
-        student.setCourse(null);
-        studentRepository.save(student);
-        List<Student> list = course.getStudents();
-        if (list != null) {
-            list.removeIf(s -> s != null && s.getId().equals(studentId));
+        if (student.getCourse() != null && courseId.equals(student.getCourse().getId())) {
+            student.setCourse(null);
+            studentRepository.save(student);
         }
-        courseRepository.save(course);
+        // Only the enrollment the association created; other terms are
+        // dropped through the enrollment endpoints
+        enrollmentRepository.findByStudent_IdAndCourse_IdAndTerm(studentId, courseId,
+                        EnrollmentServiceImpl.defaultTerm(course.get(0)))
+                .filter(e -> e.getStatus() == EnrollmentStatusEnum.ACTIVE)
+                .ifPresent(e -> e.setStatus(EnrollmentStatusEnum.DROPPED));
+        queryResultCache.invalidate(EntityTypeEnum.STUDENT, EntityTypeEnum.COURSE);
     }
 
     @Override
     public StudentDto getStudent(LongIdDto studentId) {
         if (studentId == null || studentId.getId() == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.STUDENT_MISSING);
-            throw new TestServerRuntimeException("Student id is null " + studentId);
+            throw new DomainException(ServerErrorEnum.STUDENT_MISSING, "Student id is null " + studentId);
         }
 
-        Student student = studentRepository.findById(studentId.getId()).orElse(null);
-        if (student == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.STUDENT_NOT_FOUND);
-            throw new TestServerRuntimeException("Student id not found " + studentId);
+        Long id = studentId.getId();
+        StudentDto res = singleFlight.execute(SingleFlight.key("student:get", id),
+                () -> studentRepository.findById(id).map(studentMapper::toDto).orElse(null));
+        if (res == null) {
+            throw new DomainException(ServerErrorEnum.STUDENT_NOT_FOUND, "Student id not found " + studentId);
         }
 
-        StudentDto res = studentMapper.toDto(student);
         return res;
     }
 }
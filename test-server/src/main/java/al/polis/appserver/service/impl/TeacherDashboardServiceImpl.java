@@ -0,0 +1,143 @@
+package al.polis.appserver.service.impl;
+
+import al.polis.appserver.cache.SingleFlight;
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.dto.CourseDto;
+import al.polis.appserver.dto.LongIdDto;
+import al.polis.appserver.dto.TeacherDashboardDto;
+import al.polis.appserver.dto.TeacherDto;
+import al.polis.appserver.exception.DomainException;
+import al.polis.appserver.mapper.TeacherMapper;
+import al.polis.appserver.repo.CourseEnrollmentCount;
+import al.polis.appserver.repo.CourseRepository;
+import al.polis.appserver.repo.CourseSummary;
+import al.polis.appserver.repo.EnrollmentRepository;
+import al.polis.appserver.repo.StudentSummary;
+import al.polis.appserver.repo.TeacherRepository;
+import al.polis.appserver.service.TeacherDashboardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds a teacher's home screen in one call. The four lookups are
+ * independent, so they run concurrently on the bounded dashboard pool, each
+ * with its own connection; the response time is that of the slowest lookup
+ * instead of the sum of the client's sequential round trips.
+ */
+@Service
+@Slf4j
+public class TeacherDashboardServiceImpl implements TeacherDashboardService {
+
+    private static final int RECENT_STUDENTS = 10;
+
+    private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final TeacherMapper teacherMapper;
+    private final SingleFlight singleFlight;
+    private final Executor dashboardExecutor;
+    private final long timeoutMillis;
+
+    public TeacherDashboardServiceImpl(TeacherRepository teacherRepository,
+                                       CourseRepository courseRepository,
+                                       EnrollmentRepository enrollmentRepository,
+                                       TeacherMapper teacherMapper,
+                                       SingleFlight singleFlight,
+                                       @Qualifier("dashboardExecutor") Executor dashboardExecutor,
+                                       @Value("${appserver.dashboard.timeout-millis:5000}") long timeoutMillis) {
+        this.teacherRepository = teacherRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.teacherMapper = teacherMapper;
+        this.singleFlight = singleFlight;
+        this.dashboardExecutor = dashboardExecutor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public TeacherDashboardDto getTeacherDashboard(LongIdDto teacherId) {
+        if (teacherId == null || teacherId.getId() == null) {
+            throw new DomainException(ServerErrorEnum.TEACHER_MISSING, "Teacher id is null " + teacherId);
+        }
+
+        Long id = teacherId.getId();
+        TeacherDashboardDto res = singleFlight.execute(SingleFlight.key("teacher:dashboard", id),
+                () -> loadDashboard(id));
+        if (res == null) {
+            throw new DomainException(ServerErrorEnum.TEACHER_NOT_FOUND, "Teacher id not found " + teacherId);
+        }
+
+        return res;
+    }
+
+    private TeacherDashboardDto loadDashboard(Long id) {
+        CompletableFuture<TeacherDto> teacher = fork(() -> teacherRepository.findById(id)
+                .map(teacherMapper::toDtoWithoutCourses).orElse(null));
+        CompletableFuture<List<CourseSummary>> courses = fork(() ->
+                courseRepository.findSummariesByTeacherIdIn(List.of(id)));
+        CompletableFuture<List<CourseEnrollmentCount>> counts = fork(() ->
+                enrollmentRepository.countEnrollmentsByTeacherId(id));
+        CompletableFuture<List<StudentSummary>> recent = fork(() ->
+                enrollmentRepository.findRecentByTeacherId(id, PageRequest.of(0, RECENT_STUDENTS)));
+
+        List<CompletableFuture<?>> lookups = List.of(teacher, courses, counts, recent);
+        try {
+            CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            // Drops lookups still queued; running ones finish and release their connection
+            lookups.forEach(lookup -> lookup.cancel(false));
+            log.error("Dashboard of teacher {} could not be assembled: {}", id, ex.toString());
+            throw new DomainException(ServerErrorEnum.DASHBOARD_UNAVAILABLE, "Dashboard of teacher " + id + " failed: " + ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DomainException(ServerErrorEnum.DASHBOARD_UNAVAILABLE, "Interrupted while building dashboard of teacher " + id);
+        }
+
+        if (teacher.join() == null) {
+            return null;
+        }
+        return assemble(teacher.join(), courses.join(), counts.join(), recent.join());
+    }
+
+    private TeacherDashboardDto assemble(TeacherDto teacher, List<CourseSummary> courseSummaries,
+                                         List<CourseEnrollmentCount> counts, List<StudentSummary> recent) {
+        Map<Long, CourseDto> coursesById = new LinkedHashMap<>();
+        for (CourseSummary course : courseSummaries) {
+            coursesById.put(course.id(), teacherMapper.mapCourseSummary(course));
+        }
+
+        Map<Long, Long> enrollmentCounts = new LinkedHashMap<>();
+        coursesById.keySet().forEach(courseId -> enrollmentCounts.put(courseId, 0L));
+        counts.forEach(count -> enrollmentCounts.put(count.courseId(), count.students()));
+
+        List<CourseDto> courses = new ArrayList<>(coursesById.values());
+        teacher.setCourses(courses);
+
+        TeacherDashboardDto dashboard = new TeacherDashboardDto();
+        dashboard.setTeacher(teacher);
+        dashboard.setCourses(courses);
+        dashboard.setEnrollmentCounts(enrollmentCounts);
+        dashboard.setRecentStudents(recent.stream()
+                .map(student -> teacherMapper.mapStudentSummary(student, coursesById.get(student.courseId())))
+                .toList());
+        return dashboard;
+    }
+
+    private <T> CompletableFuture<T> fork(Supplier<T> lookup) {
+        return CompletableFuture.supplyAsync(lookup, dashboardExecutor);
+    }
+}
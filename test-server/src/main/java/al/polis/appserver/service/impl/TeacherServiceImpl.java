@@ -1,44 +1,61 @@
 package al.polis.appserver.service.impl;
 
-import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.cache.EntityTypeEnum;
+import al.polis.appserver.cache.QueryResultCache;
+import al.polis.appserver.cache.SingleFlight;
 import al.polis.appserver.communication.ServerErrorEnum;
 import al.polis.appserver.dto.*;
-import al.polis.appserver.exception.TestServerRuntimeException;
+import al.polis.appserver.exception.DomainException;
 import al.polis.appserver.mapper.TeacherMapper;
 import al.polis.appserver.model.Course;
 import al.polis.appserver.model.Student;
 import al.polis.appserver.model.Teacher;
 import al.polis.appserver.repo.CourseRepository;
+import al.polis.appserver.repo.CourseSummary;
 import al.polis.appserver.repo.TeacherRepository;
+import al.polis.appserver.repo.spec.TeacherSpecifications;
+import al.polis.appserver.repo.spec.SpecificationSlices;
 import al.polis.appserver.service.TeacherService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 @Slf4j
 public class TeacherServiceImpl implements TeacherService {
 
+    // Each key has its (fields..., id) index, see the V2 and V6 migrations
+    private static final Set<List<String>> SORT_KEYS = Set.of(
+            List.of("lastName"), List.of("firstName"), List.of("title"),
+            List.of("lastName", "firstName"));
+
     private final TeacherRepository teacherRepository;
     private final CourseRepository courseRepository;
     private final TeacherMapper teacherMapper;
+    private final SingleFlight singleFlight;
+    private final QueryResultCache queryResultCache;
 
     @Override
     @Transactional
     public TeacherDto upsertTeacher(TeacherDto teacher) {
         if (teacher == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.TEACHER_MISSING);
-            throw new TestServerRuntimeException("Teacher is null");
+            throw new DomainException(ServerErrorEnum.TEACHER_MISSING, "Teacher is null");
         }
         Teacher entity = teacherMapper.toEntity(teacher);
         Teacher res = teacherRepository.save(entity);
+        queryResultCache.invalidate(EntityTypeEnum.TEACHER);
         TeacherDto dto = teacherMapper.toDto(res);
         return dto;
     }
@@ -46,75 +63,114 @@ public class TeacherServiceImpl implements TeacherService {
     @Override
     public Slice<TeacherDto> filterTeachers(SimpleStringFilterDto filter) {
         if (filter == null || filter.getPagination() == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.TEACHER_MISSING);
-            throw new TestServerRuntimeException("Filter is null or has no pagination info.");
+            throw new DomainException(ServerErrorEnum.TEACHER_MISSING, "Filter is null or has no pagination info.");
+        }
+        Pageable pageable = filter.getPagination().toPageable(SORT_KEYS);
+        return queryResultCache.get(EntityTypeEnum.TEACHER, filter,
+                key -> singleFlight.execute(key, () -> loadTeachers(filter.normalizedFilter(), pageable)));
+    }
+
+    @Override
+    public Slice<TeacherDto> searchTeachers(StructuredFilterDto filter) {
+        if (filter == null || filter.getPagination() == null) {
+            throw new DomainException(ServerErrorEnum.FILTER_MISSING, "Filter is null or has no pagination info.");
         }
-        String criterion = "";
+        Pageable pageable = filter.getPagination().toPageable(SORT_KEYS);
+        Specification<Teacher> specification = TeacherSpecifications.matching(filter);
+        return queryResultCache.get(EntityTypeEnum.TEACHER, filter,
+                key -> singleFlight.execute(key, () -> toDtoSlice(
+                        SpecificationSlices.findSlice(teacherRepository, specification, pageable))));
+    }
+
+    private Slice<TeacherDto> loadTeachers(String criterion, Pageable pageable) {
         Slice<Teacher> teachers = null;
-        if (filter.getFilter() == null || filter.getFilter().isEmpty()) {
-            teachers = teacherRepository.findAll(PageRequest.of(0, 20));
+        if (criterion.isEmpty()) {
+            teachers = teacherRepository.findAllBy(pageable);
         } else {
-            criterion = filter.getFilter();
             teachers = teacherRepository
                     .findByFirstNameContainsOrLastNameContains(
                             criterion,
                             criterion,
-                            PageRequest.of(
-                                    filter.getPagination().getPageNumber(),
-                                    filter.getPagination().getPageSize()));
+                            pageable);
         }
 
-        List<TeacherDto> dtos = teachers.stream().map(teacherMapper::toDto).toList();
+        return toDtoSlice(teachers);
+    }
+
+    private Slice<TeacherDto> toDtoSlice(Slice<Teacher> teachers) {
+        List<TeacherDto> dtos = teachers.stream().map(teacherMapper::toDtoWithoutCourses).toList();
+        attachCourseSummaries(dtos);
         Slice<TeacherDto> result = new SliceImpl<>(dtos, teachers.getPageable(), teachers.hasNext());
         return result;
     }
 
+    // One batched query for the whole page instead of one lazy load per teacher
+    private void attachCourseSummaries(List<TeacherDto> teachers) {
+        if (teachers.isEmpty()) {
+            return;
+        }
+        Map<Long, List<CourseDto>> coursesByTeacher = new HashMap<>();
+        for (TeacherDto teacher : teachers) {
+            teacher.setCourses(new ArrayList<>());
+            coursesByTeacher.put(teacher.getId(), teacher.getCourses());
+        }
+        for (CourseSummary course : courseRepository.findSummariesByTeacherIdIn(coursesByTeacher.keySet())) {
+            coursesByTeacher.get(course.teacherId()).add(teacherMapper.mapCourseSummary(course));
+        }
+    }
+
     @Override
     @Transactional
     public void deleteTeacher(LongIdDto teacherId) {
         if (teacherId == null || teacherId.getId() == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.TEACHER_MISSING);
-            throw new TestServerRuntimeException("Teacher id is null or missing");
+            throw new DomainException(ServerErrorEnum.TEACHER_MISSING, "Teacher id is null or missing");
         }
 
         // Check if teacher exists
         Teacher teacher = teacherRepository.findById(teacherId.getId()).orElse(null);
         if (teacher == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.TEACHER_NOT_FOUND);
-            throw new TestServerRuntimeException("Teacher with id " + teacherId.getId() + " not found");
+            throw new DomainException(ServerErrorEnum.TEACHER_NOT_FOUND, "Teacher with id " + teacherId.getId() + " not found");
         }
 
-        // Check if teacher has any courses by querying the courses table
-        List<Course> teacherCourses = courseRepository.findByTeacher_Id(teacherId.getId());
-        if (teacherCourses != null && !teacherCourses.isEmpty()) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.DELETE_TEACHER_NOT_ALLOWED);
-            throw new TestServerRuntimeException("Teacher has " + teacherCourses.size() + " course(s) and cannot be deleted. Please remove all course assignments first.");
+        // Check if teacher has any courses with an EXISTS query on course.teacher_id
+        if (courseRepository.existsByTeacher_Id(teacherId.getId())) {
+            throw new DomainException(ServerErrorEnum.DELETE_TEACHER_NOT_ALLOWED, "Teacher has courses and cannot be deleted. Please remove all course assignments first.");
         }
 
         // If we reach here, it's safe to delete the teacher
         try {
             teacherRepository.delete(teacher);
+            queryResultCache.invalidate(EntityTypeEnum.TEACHER);
         } catch (Exception ex) {
             log.error("Error deleting teacher with ID {}: {}", teacherId.getId(), ex.getMessage());
-            ErrorContext.addStatusMessage(ServerErrorEnum.DELETE_TEACHER_NOT_ALLOWED);
-            throw new TestServerRuntimeException("Failed to delete teacher due to database constraint: " + ex.getMessage());
+            throw new DomainException(ServerErrorEnum.DELETE_TEACHER_NOT_ALLOWED, "Failed to delete teacher due to database constraint: " + ex.getMessage());
         }
     }
 
+    @Override
+    @Transactional
+    public BulkDeleteResultDto bulkDeleteTeachers(LongIdListDto ids) {
+        BulkDeleteResultDto result = BulkDeletes.delete(ids,
+                teacherRepository::findExistingIds,
+                teacherRepository::deleteUnreferencedByIdIn,
+                ServerErrorEnum.DELETE_TEACHER_NOT_ALLOWED);
+        queryResultCache.invalidate(EntityTypeEnum.TEACHER);
+        return result;
+    }
+
     @Override
     public TeacherDto getTeacher(LongIdDto teacherId) {
         if (teacherId == null || teacherId.getId() == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.TEACHER_MISSING);
-            throw new TestServerRuntimeException("Teacher id is null " + teacherId);
+            throw new DomainException(ServerErrorEnum.TEACHER_MISSING, "Teacher id is null " + teacherId);
         }
 
-        Teacher teacher = teacherRepository.findById(teacherId.getId()).orElse(null);
-        if (teacher == null) {
-            ErrorContext.addStatusMessage(ServerErrorEnum.TEACHER_NOT_FOUND);
-            throw new TestServerRuntimeException("Teacher id not found " + teacherId);
+        Long id = teacherId.getId();
+        TeacherDto res = singleFlight.execute(SingleFlight.key("teacher:get", id),
+                () -> teacherRepository.findById(id).map(teacherMapper::toDto).orElse(null));
+        if (res == null) {
+            throw new DomainException(ServerErrorEnum.TEACHER_NOT_FOUND, "Teacher id not found " + teacherId);
         }
 
-        TeacherDto res = teacherMapper.toDto(teacher);
         return res;
     }
 }
@@ -0,0 +1,125 @@
+package al.polis.appserver.trace;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends each trace as one JSON line to {@code appserver.trace.file}, for
+ * offline reading (jq, a notebook, or a converter to a trace viewer). The
+ * request thread only serializes the trace and offers the line to a bounded
+ * queue; a daemon thread does the file I/O. When the queue is full the
+ * trace is dropped rather than slowing the request down.
+ */
+@Component
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final BlockingQueue<String> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+
+    public FileSpanExporter(ObjectMapper objectMapper,
+                            @Value("${appserver.trace.file:logs/traces.jsonl}") String file,
+                            @Value("${appserver.trace.queue-capacity:1024}") int queueCapacity) {
+        this.objectMapper = objectMapper;
+        this.file = Path.of(file);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::writeLoop, "trace-exporter");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void export(Trace trace) {
+        String line;
+        try {
+            line = objectMapper.writeValueAsString(trace);
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not serialize trace {}", trace.getTraceId(), ex);
+            return;
+        }
+        if (!queue.offer(line)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void writeLoop() {
+        BufferedWriter out = null;
+        long reportedDrops = 0;
+        try {
+            while (true) {
+                String line = queue.take();
+                if (out == null) {
+                    out = open();
+                }
+                do {
+                    out.write(line);
+                    out.newLine();
+                } while ((line = queue.poll()) != null);
+                out.flush();
+                long drops = dropped.get();
+                if (drops != reportedDrops) {
+                    log.warn("Trace export queue full, {} traces dropped so far", drops);
+                    reportedDrops = drops;
+                }
+            }
+        } catch (InterruptedException ex) {
+            drainOnShutdown(out);
+        } catch (IOException ex) {
+            log.error("Trace export to {} stopped", file, ex);
+        }
+    }
+
+    private void drainOnShutdown(BufferedWriter out) {
+        try {
+            if (out == null && !queue.isEmpty()) {
+                out = open();
+            }
+            for (String line; (line = queue.poll()) != null; ) {
+                out.write(line);
+                out.newLine();
+            }
+            if (out != null) {
+                out.close();
+            }
+        } catch (IOException ex) {
+            log.warn("Could not flush pending traces to {}", file, ex);
+        }
+    }
+
+    private BufferedWriter open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,19 @@
+package al.polis.appserver.trace;
+
+import java.util.List;
+
+/**
+ * Names of the application's flight recorder events, as shown in JDK
+ * Mission Control and used to enable them in a recording.
+ */
+public final class FlightRecorderEvents {
+
+    public static final String SERVICE_OPERATION = "al.polis.appserver.ServiceOperation";
+    public static final String REPOSITORY_QUERY = "al.polis.appserver.RepositoryQuery";
+    public static final String JDBC_STATEMENT = "al.polis.appserver.JdbcStatement";
+
+    public static final List<String> ALL = List.of(SERVICE_OPERATION, REPOSITORY_QUERY, JDBC_STATEMENT);
+
+    private FlightRecorderEvents() {
+    }
+}
@@ -0,0 +1,34 @@
+package al.polis.appserver.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(FlightRecorderEvents.JDBC_STATEMENT)
+@Label("JDBC Statement")
+@Category({"Appserver", "JDBC"})
+@Description("One execute call on a JDBC statement")
+@StackTrace(false)
+class JdbcStatementEvent extends Event {
+
+    static final EventType TYPE = EventType.getEventType(JdbcStatementEvent.class);
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Method")
+    String method;
+
+    @Label("Update Count")
+    int updateCount;
+
+    @Label("Failed")
+    boolean failed;
+
+    @Label("Trace Id")
+    String traceId;
+}
@@ -0,0 +1,61 @@
+package al.polis.appserver.trace;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Fields shared by the service and repository flight recorder events. The
+ * duration is the event's own begin/commit interval.
+ */
+abstract class OperationEvent extends Event {
+
+    @Label("Entity Type")
+    String entityType;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Failed")
+    boolean failed;
+
+    @Label("Trace Id")
+    String traceId;
+
+    /**
+     * Rows an operation returned: the element count of collections and
+     * slices, 0 or 1 for optional and single results, the value of counts
+     * and update counts, -1 for anything else (void, boolean).
+     */
+    static int rowsOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Integer || result instanceof Long) {
+            return ((Number) result).intValue();
+        }
+        if (result instanceof Boolean) {
+            return -1;
+        }
+        return 1;
+    }
+}
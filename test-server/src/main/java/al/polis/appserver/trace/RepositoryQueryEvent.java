@@ -0,0 +1,15 @@
+package al.polis.appserver.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(FlightRecorderEvents.REPOSITORY_QUERY)
+@Label("Repository Query")
+@Category({"Appserver", "Repository"})
+@Description("A call into a Spring Data repository")
+@StackTrace(false)
+class RepositoryQueryEvent extends OperationEvent {
+}
@@ -0,0 +1,15 @@
+package al.polis.appserver.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(FlightRecorderEvents.SERVICE_OPERATION)
+@Label("Service Operation")
+@Category({"Appserver", "Service"})
+@Description("A call into a service implementation")
+@StackTrace(false)
+class ServiceOperationEvent extends OperationEvent {
+}
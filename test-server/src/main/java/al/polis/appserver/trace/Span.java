@@ -0,0 +1,65 @@
+package al.polis.appserver.trace;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One timed operation of a {@link Trace}. Spans are opened through the
+ * {@link Tracer} and must be ended on the thread that opened them.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Span {
+
+    @JsonIgnore
+    private final Trace trace;
+    @JsonIgnore
+    private final Span parent;
+    @JsonIgnore
+    private final long startNanos;
+
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final SpanKindEnum kind;
+    private final String thread;
+    /** Microseconds since the start of the trace. */
+    private final long startMicros;
+    /** -1 while the span is still open. */
+    private volatile long durationMicros = -1;
+    private Map<String, String> attributes;
+    private String error;
+
+    Span(Trace trace, Span parent, String name, SpanKindEnum kind) {
+        this.trace = trace;
+        this.parent = parent;
+        this.startNanos = System.nanoTime();
+        this.spanId = trace.nextSpanId();
+        this.parentSpanId = parent == null ? null : parent.spanId;
+        this.name = name;
+        this.kind = kind;
+        this.thread = Thread.currentThread().getName();
+        this.startMicros = parent == null ? 0 : (startNanos - trace.getRoot().startNanos) / 1_000;
+    }
+
+    public Span attribute(String key, String value) {
+        if (attributes == null) {
+            attributes = new LinkedHashMap<>(4);
+        }
+        attributes.put(key, value);
+        return this;
+    }
+
+    public void error(Throwable ex) {
+        error = ex.getClass().getSimpleName();
+    }
+
+    public void end() {
+        durationMicros = (System.nanoTime() - startNanos) / 1_000;
+        trace.tracer().ended(this);
+    }
+}
@@ -0,0 +1,10 @@
+package al.polis.appserver.trace;
+
+/**
+ * Receives every sampled trace once its root span has ended. Called on the
+ * request thread, so implementations must hand the work off quickly.
+ */
+public interface SpanExporter {
+
+    void export(Trace trace);
+}
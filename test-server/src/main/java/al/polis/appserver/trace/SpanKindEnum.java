@@ -0,0 +1,14 @@
+package al.polis.appserver.trace;
+
+/**
+ * Layer a span was recorded in.
+ */
+public enum SpanKindEnum {
+    HTTP,
+    CONTROLLER,
+    SERVICE,
+    REPOSITORY,
+    MAPPER,
+    JDBC,
+    SERIALIZATION
+}
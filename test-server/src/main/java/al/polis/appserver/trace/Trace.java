@@ -0,0 +1,72 @@
+package al.polis.appserver.trace;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The spans recorded for one sampled request. Spans may be added from the
+ * request thread and from executor threads it forked, so additions are
+ * synchronized; spans beyond {@code maxSpans} or arriving after the request
+ * finished are counted but not kept.
+ */
+public class Trace {
+
+    @Getter
+    private final String traceId;
+    @Getter
+    private final Instant startedAt = Instant.now();
+    private final List<Span> spans;
+    @Getter
+    private int droppedSpans;
+
+    private final Tracer tracer;
+    private final AtomicInteger spanIds = new AtomicInteger();
+    private final int maxSpans;
+    private Span root;
+    private boolean finished;
+
+    Trace(Tracer tracer, String traceId, int maxSpans) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.maxSpans = maxSpans;
+        this.spans = new ArrayList<>(Math.min(maxSpans, 64));
+    }
+
+    public synchronized List<Span> getSpans() {
+        return List.copyOf(spans);
+    }
+
+    @JsonIgnore
+    synchronized Span getRoot() {
+        return root;
+    }
+
+    Tracer tracer() {
+        return tracer;
+    }
+
+    String nextSpanId() {
+        return Integer.toHexString(spanIds.incrementAndGet());
+    }
+
+    synchronized boolean add(Span span) {
+        if (finished || spans.size() >= maxSpans) {
+            droppedSpans++;
+            return false;
+        }
+        if (root == null) {
+            root = span;
+        }
+        spans.add(span);
+        return true;
+    }
+
+    synchronized void finish() {
+        finished = true;
+    }
+}
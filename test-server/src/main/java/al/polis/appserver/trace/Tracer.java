@@ -0,0 +1,119 @@
+package al.polis.appserver.trace;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Head-sampled request tracing. {@link #startTrace} decides once per request
+ * whether it is recorded; for unsampled requests every later
+ * {@link #startSpan} is a single thread-local read returning {@code null},
+ * which is what keeps the instrumentation cheap enough to leave on.
+ * <p>
+ * Typical use, where {@code span} may be {@code null}:
+ * <pre>{@code
+ * Span span = tracer.startSpan("CourseMapper.toDto", SpanKindEnum.MAPPER);
+ * try {
+ *     ...
+ * } finally {
+ *     Tracer.end(span);
+ * }
+ * }</pre>
+ */
+@Component
+public class Tracer {
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final double sampleRate;
+    private final int maxSpans;
+    private final SpanExporter exporter;
+
+    public Tracer(@Value("${appserver.trace.sample-rate:0}") double sampleRate,
+                  @Value("${appserver.trace.max-spans:1000}") int maxSpans,
+                  SpanExporter exporter) {
+        this.sampleRate = sampleRate;
+        this.maxSpans = maxSpans;
+        this.exporter = exporter;
+    }
+
+    /**
+     * Opens the root span of a request if it is sampled, otherwise returns
+     * {@code null} and leaves the request untraced.
+     */
+    public Span startTrace(String traceId, String name) {
+        if (sampleRate <= 0 || sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        Span root = new Span(new Trace(this, traceId, maxSpans), null, name, SpanKindEnum.HTTP);
+        root.getTrace().add(root);
+        CURRENT.set(root);
+        return root;
+    }
+
+    /**
+     * Opens a child of the current span, or returns {@code null} when the
+     * thread is not tracing or the trace is full.
+     */
+    public Span startSpan(String name, SpanKindEnum kind) {
+        Span parent = CURRENT.get();
+        if (parent == null) {
+            return null;
+        }
+        Span span = new Span(parent.getTrace(), parent, name, kind);
+        if (!parent.getTrace().add(span)) {
+            return null;
+        }
+        CURRENT.set(span);
+        return span;
+    }
+
+    public boolean isTracing() {
+        return CURRENT.get() != null;
+    }
+
+    public static void end(Span span) {
+        if (span != null) {
+            span.end();
+        }
+    }
+
+    /**
+     * Runs {@code task} as part of the current span's trace, wherever it is
+     * executed. Returns the task unchanged when the thread is not tracing.
+     */
+    public static Runnable propagate(Runnable task) {
+        Span parent = CURRENT.get();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            Span previous = CURRENT.get();
+            CURRENT.set(parent);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    void ended(Span span) {
+        if (CURRENT.get() == span) {
+            if (span.getParent() == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(span.getParent());
+            }
+        }
+        if (span.getParent() == null) {
+            span.getTrace().finish();
+            exporter.export(span.getTrace());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package al.polis.appserver.trace;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.NativeDetector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Instruments the application's controllers, services, repositories and
+ * mappers with a {@link TracingInterceptor}, and wraps the DataSource in a
+ * {@link TracingDataSource}. Beans that already are Spring proxies (the
+ * transactional services, the repositories) get the interceptor as their
+ * outermost advice, so a service span includes its commit; the others are
+ * proxied here. A native image cannot define proxy classes at run time, so
+ * there only the beans that already are proxies get spans.
+ */
+public class TracingBeanPostProcessor implements BeanPostProcessor {
+
+    private static final String BASE_PACKAGE = "al.polis.appserver.";
+
+    private final ObjectProvider<Tracer> tracer;
+
+    public TracingBeanPostProcessor(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)) {
+            return new TracingDataSource(dataSource, tracer.getObject());
+        }
+        Class<?> type = instrumentedType(bean);
+        if (type == null) {
+            return bean;
+        }
+        SpanKindEnum kind = kindOf(type, bean);
+        if (kind == null) {
+            return bean;
+        }
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new TracingInterceptor(tracer.getObject(), type.getSimpleName(), kind));
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvisor(0, advisor);
+            return bean;
+        }
+        if (NativeDetector.inNativeImage()) {
+            return bean;
+        }
+        ProxyFactory factory = new ProxyFactory(bean);
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(advisor);
+        return factory.getProxy(ClassUtils.getDefaultClassLoader());
+    }
+
+    /** The application type the bean stands for, or null for framework beans. */
+    private static Class<?> instrumentedType(Object bean) {
+        if (bean instanceof Repository<?, ?>) {
+            for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(bean)) {
+                if (type.getName().startsWith(BASE_PACKAGE)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+        Class<?> type = ClassUtils.getUserClass(AopUtils.getTargetClass(bean));
+        return type.getName().startsWith(BASE_PACKAGE) ? type : null;
+    }
+
+    private static SpanKindEnum kindOf(Class<?> type, Object bean) {
+        if (!type.getPackageName().startsWith(BASE_PACKAGE)) {
+            return null;
+        }
+        String pkg = type.getPackageName().substring(BASE_PACKAGE.length());
+        if (pkg.equals("controller") && AnnotatedElementUtils.hasAnnotation(type, Controller.class)) {
+            return SpanKindEnum.CONTROLLER;
+        }
+        if (pkg.equals("service.impl")) {
+            return SpanKindEnum.SERVICE;
+        }
+        if (pkg.equals("repo") && bean instanceof Repository<?, ?>) {
+            return SpanKindEnum.REPOSITORY;
+        }
+        if (pkg.equals("mapper")) {
+            return SpanKindEnum.MAPPER;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package al.polis.appserver.trace;
+
+import al.polis.appserver.communication.ErrorContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the pool so that every {@code execute*} of a statement created
+ * while tracing becomes a {@link SpanKindEnum#JDBC} child span carrying the
+ * SQL, and a {@link JdbcStatementEvent} while a flight recording is running.
+ * Connections handed out when neither is needed are returned unwrapped.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    private final Tracer tracer;
+
+    public TracingDataSource(DataSource target, Tracer tracer) {
+        super(target);
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        if (!tracer.isTracing() && !JdbcStatementEvent.TYPE.isEnabled()) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (method, args, result) -> switch (method.getName()) {
+            case "createStatement" -> statement(Statement.class, (Statement) result, null);
+            case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+            case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0]);
+            default -> result;
+        });
+    }
+
+    private <T extends Statement> T statement(Class<T> type, Statement statement, String preparedSql) {
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            Span span = tracer.startSpan("jdbc." + method.getName(), SpanKindEnum.JDBC);
+            if (span != null && sql != null) {
+                span.attribute("db.statement", sql);
+            }
+            JdbcStatementEvent event = new JdbcStatementEvent();
+            event.begin();
+            Object result = null;
+            boolean failed = false;
+            try {
+                result = invoke(statement, method, args);
+                return result;
+            } catch (Throwable ex) {
+                failed = true;
+                if (span != null) {
+                    span.error(ex);
+                }
+                throw ex;
+            } finally {
+                if (event.shouldCommit()) {
+                    event.sql = sql;
+                    event.method = method.getName();
+                    event.updateCount = result instanceof Integer count ? count : -1;
+                    event.failed = failed;
+                    event.traceId = ErrorContext.currentTraceId();
+                    event.commit();
+                }
+                Tracer.end(span);
+            }
+        }));
+    }
+
+    private <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (p, method, args) -> wrapper.wrap(method, args, invoke(target, method, args))));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultWrapper {
+        Object wrap(Method method, Object[] args, Object result);
+    }
+}
@@ -0,0 +1,74 @@
+package al.polis.appserver.trace;
+
+import al.polis.appserver.communication.ErrorContext;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Records a span named {@code Owner.method} around each call into one
+ * instrumented bean, and for services and repositories a flight recorder
+ * event. Both cost a thread-local read and a disabled-event check when the
+ * request is not sampled and no recording is running.
+ */
+class TracingInterceptor implements MethodInterceptor {
+
+    private final Tracer tracer;
+    private final String owner;
+    private final String entityType;
+    private final SpanKindEnum kind;
+
+    TracingInterceptor(Tracer tracer, String owner, SpanKindEnum kind) {
+        this.tracer = tracer;
+        this.owner = owner;
+        this.entityType = entityTypeOf(owner);
+        this.kind = kind;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        OperationEvent event = switch (kind) {
+            case SERVICE -> new ServiceOperationEvent();
+            case REPOSITORY -> new RepositoryQueryEvent();
+            default -> null;
+        };
+        Span span = tracer.isTracing() ? tracer.startSpan(owner + "." + invocation.getMethod().getName(), kind) : null;
+        if (event != null) {
+            event.begin();
+        }
+        Object result = null;
+        boolean failed = false;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable ex) {
+            failed = true;
+            if (span != null) {
+                span.error(ex);
+            }
+            throw ex;
+        } finally {
+            if (event != null && event.shouldCommit()) {
+                event.entityType = entityType;
+                event.operation = invocation.getMethod().getName();
+                event.rows = OperationEvent.rowsOf(result);
+                event.failed = failed;
+                event.traceId = ErrorContext.currentTraceId();
+                event.commit();
+            }
+            Tracer.end(span);
+        }
+    }
+
+    // StudentServiceImpl -> Student, CourseRepository -> Course
+    private static String entityTypeOf(String owner) {
+        for (String suffix : new String[]{"ServiceImpl", "Repository", "Mapper", "Controller"}) {
+            if (owner.endsWith(suffix) && owner.length() > suffix.length()) {
+                return owner.substring(0, owner.length() - suffix.length());
+            }
+        }
+        return owner;
+    }
+}
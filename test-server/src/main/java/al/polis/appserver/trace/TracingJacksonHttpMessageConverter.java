@@ -0,0 +1,50 @@
+package al.polis.appserver.trace;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * The regular JSON converter, with request parsing and response writing
+ * recorded as {@link SpanKindEnum#SERIALIZATION} spans.
+ */
+public class TracingJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Tracer tracer;
+
+    public TracingJacksonHttpMessageConverter(ObjectMapper objectMapper, Tracer tracer) {
+        super(objectMapper);
+        this.tracer = tracer;
+    }
+
+    @Override
+    @NonNull
+    public Object read(@NonNull Type type, @Nullable Class<?> contextClass, @NonNull HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        Span span = tracer.startSpan("jackson.read", SpanKindEnum.SERIALIZATION);
+        try {
+            return super.read(type, contextClass, inputMessage);
+        } finally {
+            Tracer.end(span);
+        }
+    }
+
+    @Override
+    protected void writeInternal(@NonNull Object object, @Nullable Type type, @NonNull HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Span span = tracer.startSpan("jackson.write", SpanKindEnum.SERIALIZATION);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            Tracer.end(span);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package al.polis.appserver.trace;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Native image hints for the tracing layer: the JDK proxies created by
+ * {@link TracingDataSource}, Jackson binding for the exported {@link Trace},
+ * and the flight recorder event classes.
+ */
+public class TracingRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.proxies().registerJdkProxy(Connection.class);
+        hints.proxies().registerJdkProxy(Statement.class);
+        hints.proxies().registerJdkProxy(PreparedStatement.class);
+        hints.proxies().registerJdkProxy(CallableStatement.class);
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), Trace.class);
+
+        for (Class<?> event : List.of(OperationEvent.class, ServiceOperationEvent.class,
+                RepositoryQueryEvent.class, JdbcStatementEvent.class)) {
+            hints.reflection().registerType(event, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+    }
+}
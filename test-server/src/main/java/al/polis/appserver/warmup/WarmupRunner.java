@@ -0,0 +1,164 @@
+package al.polis.appserver.warmup;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.communication.Pagination;
+import al.polis.appserver.communication.RespSingleDto;
+import al.polis.appserver.communication.RespSliceDto;
+import al.polis.appserver.dto.CourseDto;
+import al.polis.appserver.dto.LongIdDto;
+import al.polis.appserver.dto.SimpleStringFilterDto;
+import al.polis.appserver.dto.StructuredFilterDto;
+import al.polis.appserver.dto.StudentDto;
+import al.polis.appserver.dto.TeacherDto;
+import al.polis.appserver.service.CourseService;
+import al.polis.appserver.service.StudentService;
+import al.polis.appserver.service.TeacherService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs the read paths of the filter, search and get endpoints against the
+ * real data before the instance reports ready: Hibernate builds its query
+ * plans, Jackson its serializers for RespSliceDto/RespSingleDto, and the
+ * JIT gets to compile the mappers. Spring Boot only switches readiness to
+ * ACCEPTING_TRAFFIC after all ApplicationRunners returned, so /health/ready
+ * answers 503 until this is done.
+ * <p>
+ * The iterations run in a read-only transaction, where QueryResultCache and
+ * SingleFlight step aside, so each one goes all the way to the database.
+ * Afterwards the first pages are loaded once outside a transaction to leave
+ * them in the result cache. A failing warm-up is logged and does not keep
+ * the instance out of rotation.
+ */
+@Component
+@ConditionalOnProperty(name = "appserver.warmup.enabled", havingValue = "true")
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    // the empty filter and a one-letter filter take the two query paths of the filter endpoints
+    private static final List<String> FILTERS = List.of("", "a");
+
+    private final CourseService courseService;
+    private final StudentService studentService;
+    private final TeacherService teacherService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+    private final int iterations;
+    private final long maxDurationNanos;
+    private final int[] pageSizes;
+
+    public WarmupRunner(CourseService courseService,
+                        StudentService studentService,
+                        TeacherService teacherService,
+                        ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${appserver.warmup.iterations:200}") int iterations,
+                        @Value("${appserver.warmup.max-duration-seconds:60}") long maxDurationSeconds,
+                        @Value("${appserver.warmup.page-sizes:20,100}") int[] pageSizes) {
+        this.courseService = courseService;
+        this.studentService = studentService;
+        this.teacherService = teacherService;
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.iterations = iterations;
+        this.maxDurationNanos = maxDurationSeconds * 1_000_000_000;
+        this.pageSizes = pageSizes;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long firstNanos = 0;
+        long lastNanos = 0;
+        int done = 0;
+        try {
+            while (done < iterations && System.nanoTime() - start < maxDurationNanos) {
+                long iterationStart = System.nanoTime();
+                readOnly.executeWithoutResult(status -> exerciseReadPaths());
+                lastNanos = System.nanoTime() - iterationStart;
+                if (done == 0) {
+                    firstNanos = lastNanos;
+                }
+                done++;
+            }
+            preloadFirstPages();
+        } catch (RuntimeException ex) {
+            log.warn("Warm-up stopped after {} iterations", done, ex);
+        } finally {
+            ErrorContext.readAndClean();
+        }
+        log.info("Warm-up finished: {} iterations in {} ms, first iteration {} ms, last {} ms",
+                done, (System.nanoTime() - start) / 1_000_000, firstNanos / 1_000_000, lastNanos / 1_000_000);
+    }
+
+    private void exerciseReadPaths() {
+        for (int pageSize : pageSizes) {
+            for (String filter : FILTERS) {
+                Slice<CourseDto> courses = courseService.filterCourses(filter(filter, pageSize));
+                Slice<StudentDto> students = studentService.filterStudents(filter(filter, pageSize));
+                Slice<TeacherDto> teachers = teacherService.filterTeachers(filter(filter, pageSize));
+                serialize(new RespSliceDto<>(courses, List.of()));
+                serialize(new RespSliceDto<>(students, List.of()));
+                serialize(new RespSliceDto<>(teachers, List.of()));
+            }
+            serialize(new RespSliceDto<>(courseService.searchCourses(search(pageSize)), List.of()));
+            serialize(new RespSliceDto<>(studentService.searchStudents(search(pageSize)), List.of()));
+            serialize(new RespSliceDto<>(teacherService.searchTeachers(search(pageSize)), List.of()));
+        }
+        SimpleStringFilterDto all = filter("", pageSizes[0]);
+        getFirst(courseService.filterCourses(all), CourseDto::getId, courseService::getCourse);
+        getFirst(studentService.filterStudents(all), StudentDto::getId, studentService::getStudent);
+        getFirst(teacherService.filterTeachers(all), TeacherDto::getId, teacherService::getTeacher);
+        // services report into the ErrorContext, which no request will drain here
+        ErrorContext.readAndClean();
+    }
+
+    private void preloadFirstPages() {
+        for (int pageSize : pageSizes) {
+            courseService.filterCourses(filter("", pageSize));
+            studentService.filterStudents(filter("", pageSize));
+            teacherService.filterTeachers(filter("", pageSize));
+        }
+    }
+
+    private <T> void getFirst(Slice<T> slice, Function<T, Long> id, Function<LongIdDto, T> get) {
+        if (slice.hasContent()) {
+            serialize(new RespSingleDto<>(get.apply(new LongIdDto(id.apply(slice.getContent().get(0)))), List.of()));
+        }
+    }
+
+    private static SimpleStringFilterDto filter(String text, int pageSize) {
+        SimpleStringFilterDto filter = new SimpleStringFilterDto();
+        filter.setFilter(text);
+        filter.setPagination(new Pagination(0, pageSize));
+        return filter;
+    }
+
+    private static StructuredFilterDto search(int pageSize) {
+        StructuredFilterDto filter = new StructuredFilterDto();
+        filter.setPagination(new Pagination(0, pageSize));
+        return filter;
+    }
+
+    private void serialize(Object response) {
+        try {
+            objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
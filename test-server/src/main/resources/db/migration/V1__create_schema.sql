@@ -0,0 +1,34 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). Databases
+-- created that way are baselined at 1.1 and skip this script and the id
+-- generators, so every index is created by the later migrations.
+
+CREATE TABLE teacher (
+    id         BIGINT       NOT NULL,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    title      VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE course (
+    id          BIGINT       NOT NULL,
+    code        VARCHAR(255),
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    year        INTEGER,
+    teacher_id  BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_course_teacher FOREIGN KEY (teacher_id) REFERENCES teacher (id)
+);
+
+CREATE TABLE student (
+    id            BIGINT       NOT NULL,
+    first_name    VARCHAR(255),
+    last_name     VARCHAR(255),
+    email         VARCHAR(255),
+    phone         VARCHAR(255),
+    serial_number VARCHAR(255),
+    course_id     BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_student_course FOREIGN KEY (course_id) REFERENCES course (id)
+);
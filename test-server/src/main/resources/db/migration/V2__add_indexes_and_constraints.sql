@@ -0,0 +1,27 @@
+-- Runs after the 1.1 baseline, so databases created by ddl-auto=update get
+-- the same indexes as fresh ones.
+
+-- Foreign-key lookups (findByTeacher_Id, roster loads, delete guards).
+-- On MySQL these replace the implicit indexes created for the FK constraints.
+CREATE INDEX ix_course_teacher ON course (teacher_id);
+CREATE INDEX ix_student_course ON student (course_id);
+
+-- Natural keys. Baselined databases may hold duplicates here: before this
+-- migration starts, NaturalKeyDuplicateCheck (a Flyway callback) looks for
+-- them and stops with the duplicated values instead of failing halfway
+-- through. Merge or fix those rows, then start the application again.
+-- InnoDB appends the primary key to every secondary index, so
+-- the unique indexes also serve ORDER BY serial_number, id and friends.
+CREATE UNIQUE INDEX ux_student_serial_number ON student (serial_number);
+CREATE UNIQUE INDEX ux_student_email ON student (email);
+CREATE UNIQUE INDEX ux_course_code ON course (code);
+
+-- Sort indexes: one per sortable property, matching the ORDER BY field, id
+-- built by Pagination.toSort (scanned backwards for DESC).
+CREATE INDEX ix_student_last_name ON student (last_name, id);
+CREATE INDEX ix_student_first_name ON student (first_name, id);
+CREATE INDEX ix_teacher_last_name ON teacher (last_name, id);
+CREATE INDEX ix_teacher_first_name ON teacher (first_name, id);
+CREATE INDEX ix_teacher_title ON teacher (title, id);
+CREATE INDEX ix_course_title ON course (title, id);
+CREATE INDEX ix_course_year ON course (year, id);
@@ -0,0 +1,31 @@
+-- Many-to-many enrollments. student.course_id stays as the student's primary
+-- course for existing clients and is copied here as one ACTIVE enrollment
+-- per student, reusing the student id as the enrollment id (unique, and
+-- outside the range of the time-sortable ids generated from now on). The
+-- term of a migrated enrollment is the course year, '-' when unknown.
+
+CREATE TABLE enrollment (
+    id         BIGINT      NOT NULL,
+    student_id BIGINT      NOT NULL,
+    course_id  BIGINT      NOT NULL,
+    term       VARCHAR(16) NOT NULL,
+    status     VARCHAR(16) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_enrollment_student FOREIGN KEY (student_id) REFERENCES student (id),
+    CONSTRAINT fk_enrollment_course FOREIGN KEY (course_id) REFERENCES course (id)
+);
+
+-- One enrollment per student, course and term; also serves the student FK.
+CREATE UNIQUE INDEX ux_enrollment_student_course_term ON enrollment (student_id, course_id, term);
+-- Covering indexes: roster (by course) and schedule (by student) pages are
+-- read from the index alone, ordered by the other side's id. InnoDB appends
+-- the primary key, so the enrollment id is covered too.
+CREATE INDEX ix_enrollment_course_roster ON enrollment (course_id, status, student_id, term);
+CREATE INDEX ix_enrollment_student_schedule ON enrollment (student_id, status, course_id, term);
+
+INSERT INTO enrollment (id, student_id, course_id, term, status)
+SELECT s.id, s.id, s.course_id,
+       CASE WHEN c.year IS NULL THEN '-' ELSE CONCAT(c.year, '') END,
+       'ACTIVE'
+FROM student s
+JOIN course c ON c.id = s.course_id;
@@ -0,0 +1,11 @@
+-- Deleting a student or course also deletes its enrollment history. The
+-- services only delete parents without ACTIVE enrollments, so the cascade
+-- only removes DROPPED and COMPLETED rows.
+
+ALTER TABLE enrollment DROP FOREIGN KEY fk_enrollment_student;
+ALTER TABLE enrollment ADD CONSTRAINT fk_enrollment_student
+    FOREIGN KEY (student_id) REFERENCES student (id) ON DELETE CASCADE;
+
+ALTER TABLE enrollment DROP FOREIGN KEY fk_enrollment_course;
+ALTER TABLE enrollment ADD CONSTRAINT fk_enrollment_course
+    FOREIGN KEY (course_id) REFERENCES course (id) ON DELETE CASCADE;
@@ -0,0 +1,7 @@
+-- Sort indexes for the multi-field keys accepted by Pagination.toSort,
+-- matching its ORDER BY fields..., id (scanned backwards for DESC).
+-- The single-field (field, id) indexes of V2 stay: ORDER BY last_name, id
+-- cannot be served by (last_name, first_name, id).
+CREATE INDEX ix_student_last_first_name ON student (last_name, first_name, id);
+CREATE INDEX ix_teacher_last_first_name ON teacher (last_name, first_name, id);
+CREATE INDEX ix_course_year_title ON course (year, title, id);
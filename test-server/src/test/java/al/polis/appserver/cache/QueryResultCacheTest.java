@@ -0,0 +1,53 @@
+package al.polis.appserver.cache;
+
+import al.polis.appserver.communication.Pagination;
+import al.polis.appserver.dto.SimpleStringFilterDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryResultCacheTest {
+
+    @Test
+    void repeatedFilterIsServedFromMemoryUntilAWrite() {
+        QueryResultCache cache = new QueryResultCache(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("page-1", cache.get(EntityTypeEnum.STUDENT, filter(" smith"), key -> "page-" + loads.incrementAndGet()));
+        assertEquals("page-1", cache.get(EntityTypeEnum.STUDENT, filter("smith "), key -> "page-" + loads.incrementAndGet()));
+
+        cache.invalidate(EntityTypeEnum.COURSE);
+
+        assertEquals("page-2", cache.get(EntityTypeEnum.STUDENT, filter("smith"), key -> "page-" + loads.incrementAndGet()));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void unrelatedWritesKeepEntries() {
+        QueryResultCache cache = new QueryResultCache(10);
+        cache.get(EntityTypeEnum.TEACHER, filter("x"), key -> "teachers");
+
+        cache.invalidate(EntityTypeEnum.STUDENT);
+
+        assertEquals("teachers", cache.get(EntityTypeEnum.TEACHER, filter("x"), key -> "reloaded"));
+    }
+
+    @Test
+    void sizeIsBounded() {
+        QueryResultCache cache = new QueryResultCache(2);
+        for (int i = 0; i < 5; i++) {
+            cache.get(EntityTypeEnum.COURSE, filter("c" + i), key -> "page");
+        }
+        assertEquals(2, cache.getSize());
+    }
+
+    private static SimpleStringFilterDto filter(String text) {
+        SimpleStringFilterDto filter = new SimpleStringFilterDto();
+        filter.setFilter(text);
+        filter.setPagination(new Pagination(0, 20));
+        return filter;
+    }
+}
@@ -0,0 +1,68 @@
+package al.polis.appserver.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> singleFlight.execute(SingleFlight.key("course:get", 1L), () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "course-1";
+                })));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (singleFlight.getCollapsed() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("course-1", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(callers - 1, singleFlight.getCollapsed());
+            assertEquals(0, singleFlight.getInFlight());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failureIsSharedAndNotCached() {
+        SingleFlight singleFlight = new SingleFlight();
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute(SingleFlight.key("x", null), () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals("ok", singleFlight.execute(SingleFlight.key("x", null), () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
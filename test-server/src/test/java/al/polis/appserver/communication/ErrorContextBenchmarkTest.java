@@ -0,0 +1,101 @@
+package al.polis.appserver.communication;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cost per request of the status bookkeeping, previous implementation (a
+ * copy of it below, without its per-status INFO log line) against the
+ * current one, with one error every 10 requests and on every request.
+ * <p>
+ * Runs only with {@code -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ErrorContextBenchmarkTest {
+
+    private static final int REQUESTS = 2_000_000;
+    private static final ThreadLocal<List<Object[]>> LEGACY = new ThreadLocal<>();
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void compareWithPreviousErrorContext() {
+        for (int every : new int[]{10, 1}) {
+            long[] before = null;
+            long[] after = null;
+            // the first rounds are warm-up
+            for (int round = 0; round < 5; round++) {
+                before = measure(legacy(every));
+                after = measure(current(every));
+            }
+            log.info("ErrorContext per request, one status every {} requests: previous {} ns / {} B, current {} ns / {} B",
+                    every, before[0] / REQUESTS, before[1] / REQUESTS, after[0] / REQUESTS, after[1] / REQUESTS);
+        }
+    }
+
+    private static Runnable legacy(int every) {
+        return () -> {
+            for (int i = 0; i < REQUESTS; i++) {
+                if (i % every == 0) {
+                    legacyAdd(ServerErrorEnum.COURSE_NOT_FOUND);
+                }
+                sink(legacyReadAndClean());
+            }
+        };
+    }
+
+    private static Runnable current(int every) {
+        return () -> {
+            for (int i = 0; i < REQUESTS; i++) {
+                ErrorContext.open("0123456789abcdef");
+                if (i % every == 0) {
+                    ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_NOT_FOUND);
+                }
+                sink(ErrorContext.readAndClean());
+                ErrorContext.close();
+            }
+        };
+    }
+
+    private long[] measure(Runnable run) {
+        long thread = Thread.currentThread().getId();
+        long bytes = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        run.run();
+        return new long[]{System.nanoTime() - start, threads.getThreadAllocatedBytes(thread) - bytes};
+    }
+
+    private static int sinkHole;
+
+    private static void sink(List<?> statuses) {
+        sinkHole += statuses.size();
+    }
+
+    // Previous ErrorContext + ServerStatus(ServerErrorEnum): list per thread, status with an Instant-based id
+    private static void legacyAdd(ServerErrorEnum error) {
+        List<Object[]> ls = LEGACY.get();
+        if (ls == null) {
+            ls = new ArrayList<>();
+            LEGACY.set(ls);
+        }
+        ls.add(new Object[]{error.getSeverity(), error.getMessage(), error.getAction(),
+                Long.toHexString(Instant.now().toEpochMilli())});
+    }
+
+    private static List<Object[]> legacyReadAndClean() {
+        List<Object[]> ls = LEGACY.get();
+        LEGACY.remove();
+        if (ls == null) {
+            ls = new ArrayList<>();
+        }
+        return ls;
+    }
+}
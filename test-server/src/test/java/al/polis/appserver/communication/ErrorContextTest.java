@@ -0,0 +1,68 @@
+package al.polis.appserver.communication;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorContextTest {
+
+    @AfterEach
+    void close() {
+        ErrorContext.close();
+    }
+
+    @Test
+    void statusesCarryTheRequestTraceIdAndCode() {
+        ErrorContext.open("00000000cafebabe");
+        ErrorContext.addStatusMessage(ServerErrorEnum.COURSE_NOT_FOUND);
+        ErrorContext.addStatusMessage(ServerErrorEnum.SORT_NOT_ALLOWED);
+
+        List<ServerStatus> statuses = ErrorContext.readAndClean();
+
+        assertEquals(List.of(ServerErrorEnum.COURSE_NOT_FOUND, ServerErrorEnum.SORT_NOT_ALLOWED),
+                statuses.stream().map(ServerStatus::getCode).toList());
+        assertTrue(statuses.stream().allMatch(s -> s.getTraceId().equals("00000000cafebabe")));
+        assertTrue(ErrorContext.readAndClean().isEmpty());
+    }
+
+    @Test
+    void closingDropsUnreadStatuses() {
+        ErrorContext.open("1");
+        ErrorContext.addStatusMessage(ServerErrorEnum.UNKNOWN_ERROR);
+        ErrorContext.close();
+
+        ErrorContext.open("2");
+        assertTrue(ErrorContext.readAndClean().isEmpty());
+    }
+
+    @Test
+    void untracedStatusesAreShared() {
+        ErrorContext.addStatusMessage(ServerErrorEnum.TEACHER_MISSING);
+        ServerStatus status = ErrorContext.readAndClean().get(0);
+
+        assertSame(ServerStatus.of(ServerErrorEnum.TEACHER_MISSING, null), status);
+        assertEquals(ServerStatus.NO_TRACE_ID, status.getTraceId());
+    }
+
+    @Test
+    void propagatedTasksReportIntoTheForkingRequest() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            ErrorContext.open("abc");
+            CompletableFuture.runAsync(ErrorContext.propagate(
+                    () -> ErrorContext.addStatusMessage(ServerErrorEnum.DASHBOARD_UNAVAILABLE)), pool).get();
+
+            assertEquals("abc", ErrorContext.readAndClean().get(0).getTraceId());
+            // the worker is left without a binding
+            assertNull(pool.submit(ErrorContext::currentTraceId).get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package al.polis.appserver.communication;
+
+import al.polis.appserver.exception.DomainException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaginationTest {
+
+    private static final Set<List<String>> SORTABLE = Set.of(
+            List.of("lastName"), List.of("firstName"), List.of("lastName", "firstName"));
+
+    @AfterEach
+    void cleanErrorContext() {
+        ErrorContext.readAndClean();
+    }
+
+    @Test
+    void unsortedRequestIsOrderedById() {
+        Pagination pagination = new Pagination(0, 20);
+
+        assertEquals(Sort.by("id"), pagination.toSort(SORTABLE));
+    }
+
+    @Test
+    void sortAppendsIdTieBreakerInTheSameDirection() {
+        Pagination pagination = new Pagination(1, 10, new Sorting[]{sorting("lastName", "DESC")});
+
+        Sort sort = pagination.toSort(SORTABLE);
+
+        assertEquals(Sort.by(Sort.Order.desc("lastName"), Sort.Order.desc("id")), sort);
+        assertEquals(sort, pagination.toPageable(SORTABLE).getSort());
+    }
+
+    @Test
+    void whitelistedCombinationIsSortedInOneDirection() {
+        Pagination pagination = new Pagination(0, 20, new Sorting[]{
+                sorting("lastName", "desc"),
+                sorting("firstName", "DESC")
+        });
+
+        assertEquals(Sort.by(Sort.Order.desc("lastName"), Sort.Order.desc("firstName"), Sort.Order.desc("id")),
+                pagination.toSort(SORTABLE));
+    }
+
+    @Test
+    void combinationOutsideWhitelistIsRejected() {
+        Pagination pagination = new Pagination(0, 20, new Sorting[]{
+                sorting("firstName", "ASC"),
+                sorting("lastName", "ASC")
+        });
+
+        DomainException ex = assertThrows(DomainException.class, () -> pagination.toSort(SORTABLE));
+        assertEquals(ServerErrorEnum.SORT_NOT_ALLOWED, ex.getError());
+    }
+
+    @Test
+    void mixedDirectionsAreRejected() {
+        Pagination pagination = new Pagination(0, 20, new Sorting[]{
+                sorting("lastName", "DESC"),
+                sorting("firstName", "asc")
+        });
+
+        DomainException ex = assertThrows(DomainException.class, () -> pagination.toSort(SORTABLE));
+        assertEquals(ServerErrorEnum.SORT_NOT_ALLOWED, ex.getError());
+    }
+
+    @Test
+    void unknownDirectionIsRejected() {
+        Pagination pagination = new Pagination(0, 20, new Sorting[]{sorting("lastName", "sideways")});
+
+        DomainException ex = assertThrows(DomainException.class, () -> pagination.toSort(SORTABLE));
+        assertEquals(ServerErrorEnum.SORT_NOT_ALLOWED, ex.getError());
+    }
+
+    @Test
+    void ignoreCaseIsRejected() {
+        Sorting sorting = sorting("lastName", "ASC");
+        sorting.setIgnoreCase(true);
+        Pagination pagination = new Pagination(0, 20, new Sorting[]{sorting});
+
+        DomainException ex = assertThrows(DomainException.class, () -> pagination.toSort(SORTABLE));
+        assertEquals(ServerErrorEnum.SORT_NOT_ALLOWED, ex.getError());
+    }
+
+    @Test
+    void fieldOutsideWhitelistIsRejected() {
+        Pagination pagination = new Pagination(0, 20, new Sorting[]{sorting("phone", "ASC")});
+
+        DomainException ex = assertThrows(DomainException.class, () -> pagination.toSort(SORTABLE));
+        assertEquals(ServerErrorEnum.SORT_NOT_ALLOWED, ex.getError());
+    }
+
+    private static Sorting sorting(String field, String direction) {
+        Sorting sorting = new Sorting();
+        sorting.setField(field);
+        sorting.setDirection(direction);
+        return sorting;
+    }
+}
@@ -0,0 +1,114 @@
+package al.polis.appserver.communication;
+
+import al.polis.appserver.dto.CourseDto;
+import al.polis.appserver.dto.TeacherDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class RespSliceDtoSerializationTest {
+
+    private static final int ITERATIONS = 20_000;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void envelopeKeepsClientFields() throws Exception {
+        Slice<CourseDto> slice = new SliceImpl<>(courses(3), PageRequest.of(2, 3), true);
+
+        JsonNode json = mapper.readTree(mapper.writeValueAsBytes(new RespSliceDto<>(slice)));
+
+        assertEquals(3, json.get("slice").get("content").size());
+        assertEquals("CS2", json.get("slice").get("content").get(2).get("code").asText());
+        assertEquals(2, json.get("slice").get("pageNumber").asInt());
+        assertEquals(3, json.get("slice").get("pageSize").asInt());
+        assertTrue(json.get("slice").get("hasNext").asBoolean());
+        assertFalse(json.get("slice").has("pageable"));
+        assertTrue(json.get("status").isArray());
+    }
+
+    @Test
+    void envelopeIsSmallerThanSliceImpl() throws Exception {
+        Slice<CourseDto> slice = new SliceImpl<>(courses(20), PageRequest.of(0, 20), true);
+
+        int legacyBytes = mapper.writeValueAsBytes(legacy(slice)).length;
+        int envelopeBytes = mapper.writeValueAsBytes(new RespSliceDto<>(slice)).length;
+
+        assertTrue(envelopeBytes < legacyBytes);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void compareSerializationTimeWithSliceImpl() throws Exception {
+        Slice<CourseDto> slice = new SliceImpl<>(courses(20), PageRequest.of(0, 20), true);
+        Map<String, Object> legacy = legacy(slice);
+        RespSliceDto<CourseDto> envelope = new RespSliceDto<>(slice);
+
+        warmUp(legacy);
+        warmUp(envelope);
+        long legacyNanos = time(legacy);
+        long envelopeNanos = time(envelope);
+
+        log.info("Slice serialization: SliceImpl {} bytes, {} ns/op; SliceDto {} bytes, {} ns/op",
+                mapper.writeValueAsBytes(legacy).length, legacyNanos / ITERATIONS,
+                mapper.writeValueAsBytes(envelope).length, envelopeNanos / ITERATIONS);
+    }
+
+    // The response as it was serialized before, with Spring Data's SliceImpl
+    private static Map<String, Object> legacy(Slice<CourseDto> slice) {
+        Map<String, Object> legacy = new LinkedHashMap<>();
+        legacy.put("status", Collections.emptyList());
+        legacy.put("slice", slice);
+        return legacy;
+    }
+
+    private void warmUp(Object value) throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValueAsBytes(value);
+        }
+    }
+
+    private long time(Object value) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValueAsBytes(value);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static List<CourseDto> courses(int count) {
+        List<CourseDto> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TeacherDto teacher = new TeacherDto();
+            teacher.setId((long) i);
+            teacher.setFirstName("Alice");
+            teacher.setLastName("Johnson");
+            teacher.setTitle("Professor");
+
+            CourseDto course = new CourseDto();
+            course.setId((long) i);
+            course.setCode("CS" + i);
+            course.setTitle("Introduction to Computer Science");
+            course.setDescription("Basic concepts of programming and computer science");
+            course.setYear(2024);
+            course.setTeacher(teacher);
+            course.setStudents(Collections.emptyList());
+            list.add(course);
+        }
+        return list;
+    }
+}
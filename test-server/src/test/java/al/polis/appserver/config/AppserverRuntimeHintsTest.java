@@ -0,0 +1,56 @@
+package al.polis.appserver.config;
+
+import al.polis.appserver.communication.RespSliceDto;
+import al.polis.appserver.communication.SliceDtoSerializer;
+import al.polis.appserver.dto.HealthDto;
+import al.polis.appserver.dto.StudentDto;
+import al.polis.appserver.model.id.TsidGenerator;
+import al.polis.appserver.trace.Span;
+import al.polis.appserver.trace.TracingRuntimeHints;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppserverRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    AppserverRuntimeHintsTest() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        new AppserverRuntimeHints().registerHints(hints, classLoader);
+        new TracingRuntimeHints().registerHints(hints, classLoader);
+    }
+
+    @Test
+    void dtosAndEnvelopesAreBoundByJackson() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(StudentDto.class.getMethod("getSerialNumber")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(HealthDto.class.getMethod("isUp")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(RespSliceDto.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SliceDtoSerializer.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void exportedSpansAreBoundByJackson() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Span.class.getMethod("getName")).test(hints));
+    }
+
+    @Test
+    void tracingProxiesAreRegistered() {
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(Connection.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(PreparedStatement.class).test(hints));
+    }
+
+    @Test
+    void vendorMigrationsAndIdGeneratorAreIncluded() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/vendor/mysql/V3__drop_id_generators.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TsidGenerator.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+}
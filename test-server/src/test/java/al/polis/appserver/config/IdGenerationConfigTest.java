@@ -0,0 +1,38 @@
+package al.polis.appserver.config;
+
+import al.polis.appserver.model.id.TsidFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGenerationConfigTest {
+
+    @Test
+    void nodeIsReadFromTheEnvironment() {
+        MockEnvironment environment = new MockEnvironment().withProperty("appserver.id.node", " 7 ");
+
+        assertEquals(7, IdGenerationConfig.resolveNode(environment));
+    }
+
+    @Test
+    void legacyVariableIsStillHonoured() {
+        MockEnvironment environment = new MockEnvironment().withProperty("APPSERVER_NODE_ID", "3");
+
+        assertEquals(3, IdGenerationConfig.resolveNode(environment));
+    }
+
+    @Test
+    void unsetNodeFallsBackToZero() {
+        assertEquals(0, IdGenerationConfig.resolveNode(new MockEnvironment()));
+    }
+
+    @Test
+    void invalidNodeFailsFast() {
+        MockEnvironment notANumber = new MockEnvironment().withProperty("appserver.id.node", "web-1");
+        MockEnvironment outOfRange = new MockEnvironment().withProperty("appserver.id.node", "16");
+
+        assertThrows(IllegalStateException.class, () -> IdGenerationConfig.resolveNode(notANumber));
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerationConfig().tsidFactory(outOfRange));
+    }
+}
@@ -0,0 +1,79 @@
+package al.polis.appserver.config;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NaturalKeyDuplicateCheckTest {
+
+    private final NaturalKeyDuplicateCheck check = new NaturalKeyDuplicateCheck();
+    private Connection connection;
+    private Context context;
+
+    @BeforeEach
+    void createTables() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:duplicate_check;MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "");
+        execute("CREATE TABLE student (id BIGINT PRIMARY KEY, serial_number VARCHAR(255), email VARCHAR(255))");
+        execute("CREATE TABLE course (id BIGINT PRIMARY KEY, code VARCHAR(255))");
+        MigrationInfo migration = mock(MigrationInfo.class);
+        when(migration.getVersion()).thenReturn(NaturalKeyDuplicateCheck.UNIQUE_INDEXES);
+        context = mock(Context.class);
+        when(context.getConnection()).thenReturn(connection);
+        when(context.getMigrationInfo()).thenReturn(migration);
+    }
+
+    @AfterEach
+    void dropTables() throws SQLException {
+        execute("DROP ALL OBJECTS");
+        connection.close();
+    }
+
+    @Test
+    void runsOnlyBeforeTheUniqueIndexMigration() {
+        assertTrue(check.supports(Event.BEFORE_EACH_MIGRATE, context));
+        assertFalse(check.supports(Event.AFTER_EACH_MIGRATE, context));
+
+        when(context.getMigrationInfo().getVersion()).thenReturn(MigrationVersion.fromVersion("4"));
+        assertFalse(check.supports(Event.BEFORE_EACH_MIGRATE, context));
+    }
+
+    @Test
+    void distinctAndNullKeysPass() throws SQLException {
+        execute("INSERT INTO student VALUES (1, 'S1', NULL), (2, 'S2', NULL)");
+        execute("INSERT INTO course VALUES (1, 'C1'), (2, NULL), (3, NULL)");
+
+        assertDoesNotThrow(() -> check.handle(Event.BEFORE_EACH_MIGRATE, context));
+    }
+
+    @Test
+    void duplicatesStopTheMigrationWithTheirValues() throws SQLException {
+        execute("INSERT INTO student VALUES (1, 'S1', 'a@polis.al'), (2, 'S1', 'b@polis.al'), (3, 'S1', 'b@polis.al')");
+        execute("INSERT INTO course VALUES (1, 'C1')");
+
+        FlywayException ex = assertThrows(FlywayException.class,
+                () -> check.handle(Event.BEFORE_EACH_MIGRATE, context));
+
+        assertTrue(ex.getMessage().contains("student.serial_number [S1 (3)]"), ex.getMessage());
+        assertTrue(ex.getMessage().contains("student.email [b@polis.al (2)]"), ex.getMessage());
+        assertFalse(ex.getMessage().contains("course.code"), ex.getMessage());
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
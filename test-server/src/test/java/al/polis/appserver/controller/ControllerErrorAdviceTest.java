@@ -0,0 +1,76 @@
+package al.polis.appserver.controller;
+
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.exception.DomainException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ControllerErrorAdviceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void unknownIdIsNotFound() throws Exception {
+        mockMvc.perform(post("/teacher/get").contentType(MediaType.APPLICATION_JSON).content("{\"id\":42}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status[0].message").value(ServerErrorEnum.TEACHER_NOT_FOUND.getMessage()));
+    }
+
+    @Test
+    void invalidInputIsBadRequest() throws Exception {
+        mockMvc.perform(post("/student/bulkDelete").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status[0].message").value(ServerErrorEnum.ID_LIST_INVALID.getMessage()));
+    }
+
+    @Test
+    void unreadableBodyIsBadRequest() throws Exception {
+        mockMvc.perform(post("/course/get").contentType(MediaType.APPLICATION_JSON).content("{\"id\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status[0].message").value(ServerErrorEnum.REQUEST_INVALID.getMessage()));
+    }
+
+    @Test
+    void unknownPathIsNotFound() throws Exception {
+        mockMvc.perform(post("/no/such/endpoint"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status[0].message").value(ServerErrorEnum.REQUEST_REJECTED.getMessage()));
+    }
+
+    @Test
+    void wrongMethodIsNotAllowed() throws Exception {
+        mockMvc.perform(get("/teacher/get"))
+                .andExpect(status().isMethodNotAllowed())
+                .andExpect(header().exists(HttpHeaders.ALLOW));
+    }
+
+    @Test
+    void unconvertiblePathVariableIsBadRequest() throws Exception {
+        mockMvc.perform(delete("/teacher/abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status[0].message").value(ServerErrorEnum.REQUEST_REJECTED.getMessage()));
+    }
+
+    @Test
+    void domainExceptionsCarryNoStackTrace() {
+        DomainException ex = new DomainException(ServerErrorEnum.COURSE_NOT_FOUND, "Course id not found 42");
+
+        assertEquals(0, ex.getStackTrace().length);
+    }
+}
@@ -0,0 +1,72 @@
+package al.polis.appserver.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"appserver.admin.enabled=true", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureMockMvc
+class DiagnosticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void requestsAreAccountedPerHandler() throws Exception {
+        mockMvc.perform(post("/admin/diagnostics/endpoints/reset")).andExpect(status().isOk());
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/course/filter").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"filter\":\"ACC\",\"pagination\":{\"pageNumber\":0,\"pageSize\":5}}"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/no/such/endpoint"));
+
+        String filterCourses = "$.data[?(@.handler == 'CourseController.filterCourses')]";
+        mockMvc.perform(post("/admin/diagnostics/endpoints"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(filterCourses + ".requests").value(hasItem(2)))
+                .andExpect(jsonPath(filterCourses + ".allocatedBytesPerRequest").value(hasItem(greaterThan(0))))
+                .andExpect(jsonPath(filterCourses + ".cpuMicrosTotal").value(hasItem(greaterThan(0))))
+                .andExpect(jsonPath("$.data[*].handler").value(hasItem("unmapped")));
+    }
+
+    @Test
+    void summaryReportsPoolHibernateAndJvm() throws Exception {
+        mockMvc.perform(post("/course/filter").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":\"DIAG\",\"pagination\":{\"pageNumber\":0,\"pageSize\":5}}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/admin/diagnostics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.pool.maximumPoolSize").value(10))
+                .andExpect(jsonPath("$.data.pool.acquisitions").value(greaterThan(0)))
+                .andExpect(jsonPath("$.data.queryCache.misses").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.data.hibernate.statisticsEnabled").value(true))
+                .andExpect(jsonPath("$.data.hibernate.queryExecutionCount").value(greaterThan(0)))
+                .andExpect(jsonPath("$.data.hibernate.slowestQueries[0].query").isString())
+                .andExpect(jsonPath("$.data.hibernate.entities[*].entity").value(hasItem("Course")))
+                .andExpect(jsonPath("$.data.jvm.heapUsed").value(greaterThan(0)))
+                .andExpect(jsonPath("$.data.jvm.threadStates.RUNNABLE").value(greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    void threadDumpListsFullStacks() throws Exception {
+        mockMvc.perform(post("/admin/diagnostics/threads"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andExpect(content().string(containsString("DiagnosticsServiceImpl.getThreadDump")))
+                .andExpect(content().string(containsString("java.lang.Thread.State: RUNNABLE")));
+    }
+}
@@ -0,0 +1,81 @@
+package al.polis.appserver.controller;
+
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.trace.FlightRecorderEvents;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"appserver.admin.enabled=true", "appserver.jfr.directory=target/jfr"})
+@AutoConfigureMockMvc
+class FlightRecordingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void stopRecording() throws Exception {
+        mockMvc.perform(post("/admin/jfr/stop"));
+    }
+
+    @Test
+    void recordingCapturesServiceRepositoryAndJdbcEvents() throws Exception {
+        mockMvc.perform(post("/admin/jfr/start").contentType(MediaType.APPLICATION_JSON).content("{\"maxAgeSeconds\":60}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.state").value("RUNNING"))
+                .andExpect(jsonPath("$.data.settings").value("default"));
+        mockMvc.perform(post("/admin/jfr/start"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status[0].message").value(ServerErrorEnum.RECORDING_ALREADY_RUNNING.getMessage()));
+
+        mockMvc.perform(post("/course/filter").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":\"JFR\",\"pagination\":{\"pageNumber\":0,\"pageSize\":5}}"))
+                .andExpect(status().isOk());
+        byte[] dump = mockMvc.perform(post("/admin/jfr/dump"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Path file = Files.createTempFile("appserver", ".jfr");
+        try {
+            Files.write(file, dump);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            RecordedEvent service = events.stream()
+                    .filter(e -> e.getEventType().getName().equals(FlightRecorderEvents.SERVICE_OPERATION))
+                    .filter(e -> "filterCourses".equals(e.getString("operation")))
+                    .findFirst().orElseThrow();
+            assertEquals("Course", service.getString("entityType"));
+            assertEquals(0, service.getInt("rows"));
+            assertFalse(service.getBoolean("failed"));
+            assertNotNull(service.getString("traceId"));
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals(FlightRecorderEvents.REPOSITORY_QUERY)
+                    && "Course".equals(e.getString("entityType"))));
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals(FlightRecorderEvents.JDBC_STATEMENT)
+                    && e.getString("sql").toLowerCase().contains("from course")));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void stopWithoutRecordingIsAConflict() throws Exception {
+        mockMvc.perform(post("/admin/jfr/stop"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status[0].message").value(ServerErrorEnum.RECORDING_NOT_RUNNING.getMessage()));
+    }
+}
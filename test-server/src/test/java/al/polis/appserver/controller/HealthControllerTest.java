@@ -0,0 +1,31 @@
+package al.polis.appserver.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class HealthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void startedApplicationIsLiveAndReady() throws Exception {
+        mockMvc.perform(get("/health/live"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.up").value(true));
+        mockMvc.perform(get("/health/ready"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.up").value(true))
+                .andExpect(jsonPath("$.data.checks[*].name").value(hasItems("startup", "pool", "database")));
+    }
+}
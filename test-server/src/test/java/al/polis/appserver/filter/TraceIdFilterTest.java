@@ -0,0 +1,68 @@
+package al.polis.appserver.filter;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TraceIdFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void incomingTraceIdIsEchoedAndReported() throws Exception {
+        mockMvc.perform(post("/teacher/get").contentType(MediaType.APPLICATION_JSON).content("{\"id\":42}")
+                        .header(TraceIdFilter.HEADER, "edge-7f3a.1"))
+                .andExpect(header().string(TraceIdFilter.HEADER, "edge-7f3a.1"))
+                .andExpect(jsonPath("$.status[0].traceId").value("edge-7f3a.1"));
+    }
+
+    @Test
+    void missingOrInvalidTraceIdIsGenerated() throws Exception {
+        MvcResult missing = mockMvc.perform(post("/teacher/get")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"id\":42}")).andReturn();
+        MvcResult invalid = mockMvc.perform(post("/teacher/get")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"id\":42}")
+                .header(TraceIdFilter.HEADER, "bad id\r\nX-Injected: 1")).andReturn();
+
+        String generated = missing.getResponse().getHeader(TraceIdFilter.HEADER);
+        assertTrue(generated.matches("[0-9a-f]{16}"), generated);
+        assertTrue(invalid.getResponse().getHeader(TraceIdFilter.HEADER).matches("[0-9a-f]{16}"));
+        assertNotEquals(generated, invalid.getResponse().getHeader(TraceIdFilter.HEADER));
+    }
+
+    @Test
+    void decoratedTasksSeeTheForkingThreadsTraceId() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        MDC.put(TraceIdFilter.MDC_KEY, "abc");
+        Runnable task;
+        try {
+            task = new RequestContextTaskDecorator().decorate(() -> seen.set(MDC.get(TraceIdFilter.MDC_KEY)));
+        } finally {
+            MDC.remove(TraceIdFilter.MDC_KEY);
+        }
+
+        Thread worker = new Thread(() -> {
+            task.run();
+            assertNull(MDC.get(TraceIdFilter.MDC_KEY));
+        });
+        worker.start();
+        worker.join();
+
+        assertEquals("abc", seen.get());
+    }
+}
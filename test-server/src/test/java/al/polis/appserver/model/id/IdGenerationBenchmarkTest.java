@@ -0,0 +1,118 @@
+package al.polis.appserver.model.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput of 64 concurrent writers with in-memory TSIDs versus the
+ * former strategy, Hibernate's table-emulated sequence with the pooled
+ * optimizer (select ... for update + update in its own transaction every 50
+ * ids).
+ * <p>
+ * Runs only with {@code -Dbenchmark=true}; point it at MySQL with
+ * {@code -Dspring.datasource.url=...} to reproduce production contention.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class IdGenerationBenchmarkTest {
+
+    private static final int WRITERS = 64;
+    private static final int INSERTS_PER_WRITER = 500;
+    private static final int POOL_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void createTables() {
+        jdbcTemplate.execute("CREATE TABLE bench_row (id BIGINT NOT NULL PRIMARY KEY, payload VARCHAR(64))");
+        jdbcTemplate.execute("CREATE TABLE bench_seq (next_val BIGINT)");
+        jdbcTemplate.update("INSERT INTO bench_seq VALUES (1)");
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP TABLE bench_row");
+        jdbcTemplate.execute("DROP TABLE bench_seq");
+    }
+
+    @Test
+    void compareInsertThroughput() throws Exception {
+        double sequence = run("table sequence", this::pooledTableSequence);
+        jdbcTemplate.update("DELETE FROM bench_row");
+        TsidFactory factory = new TsidFactory(0);
+        double tsid = run("tsid", () -> factory::nextId);
+
+        log.info("Insert throughput with {} writers: table sequence {} rows/s, tsid {} rows/s ({}x)",
+                WRITERS, Math.round(sequence), Math.round(tsid), String.format("%.2f", tsid / sequence));
+    }
+
+    private double run(String name, Supplier<LongSupplier> idSourcePerWriter) throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                LongSupplier ids = idSourcePerWriter.get();
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < INSERTS_PER_WRITER; i++) {
+                        long id = ids.getAsLong();
+                        tx.executeWithoutResult(status ->
+                                jdbcTemplate.update("INSERT INTO bench_row (id, payload) VALUES (?, ?)", id, name));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return WRITERS * INSERTS_PER_WRITER / seconds;
+    }
+
+    /**
+     * Mirrors Hibernate's TableStructure: a separate transaction locks the
+     * single sequence row, reads and advances it, then the writer hands out
+     * the next POOL_SIZE values locally.
+     */
+    private LongSupplier pooledTableSequence() {
+        TransactionTemplate isolated = new TransactionTemplate(transactionManager);
+        isolated.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        long[] pool = new long[]{0, 0};
+        return () -> {
+            if (pool[0] == pool[1]) {
+                Long hi = isolated.execute(status -> {
+                    Long value = jdbcTemplate.queryForObject("SELECT next_val FROM bench_seq FOR UPDATE", Long.class);
+                    jdbcTemplate.update("UPDATE bench_seq SET next_val = ? WHERE next_val = ?", value + POOL_SIZE, value);
+                    return value;
+                });
+                pool[0] = hi;
+                pool[1] = hi + POOL_SIZE;
+            }
+            return pool[0]++;
+        };
+    }
+}
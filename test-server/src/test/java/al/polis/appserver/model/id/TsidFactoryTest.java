@@ -0,0 +1,64 @@
+package al.polis.appserver.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TsidFactoryTest {
+
+    private static final long MAX_SAFE_JS_INTEGER = (1L << 53) - 1;
+
+    @Test
+    void idsAreIncreasingAndJavaScriptSafe() {
+        TsidFactory factory = new TsidFactory(3);
+        long previous = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long id = factory.nextId();
+            assertTrue(id > previous);
+            assertTrue(id <= MAX_SAFE_JS_INTEGER);
+            previous = id;
+        }
+        assertTrue(Duration.between(TsidFactory.timestampOf(previous), Instant.now()).abs().toSeconds() < 5);
+    }
+
+    @Test
+    void nodesNeverCollide() {
+        assertNotEquals(new TsidFactory(1).nextId(), new TsidFactory(2).nextId());
+        assertThrows(IllegalArgumentException.class, () -> new TsidFactory(TsidFactory.MAX_NODE + 1));
+    }
+
+    @Test
+    void concurrentWritersGetUniqueIds() throws Exception {
+        TsidFactory factory = new TsidFactory(0);
+        int writers = 64;
+        int perWriter = 5_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        ids.add(factory.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(writers * perWriter, ids.size());
+    }
+}
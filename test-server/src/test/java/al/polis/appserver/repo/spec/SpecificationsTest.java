@@ -0,0 +1,142 @@
+package al.polis.appserver.repo.spec;
+
+import al.polis.appserver.dto.StructuredFilterDto;
+import al.polis.appserver.model.Course;
+import al.polis.appserver.model.Enrollment;
+import al.polis.appserver.model.EnrollmentStatusEnum;
+import al.polis.appserver.model.Student;
+import al.polis.appserver.model.Teacher;
+import al.polis.appserver.repo.CourseRepository;
+import al.polis.appserver.repo.EnrollmentRepository;
+import al.polis.appserver.repo.StudentRepository;
+import al.polis.appserver.repo.TeacherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SpecificationsTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private Teacher alice;
+    private Course cs2023;
+    private Course math2024;
+
+    @BeforeEach
+    void seed() {
+        alice = teacher("Alice");
+        Teacher bob = teacher("Bob");
+        cs2023 = course("CS101", 2023, alice);
+        math2024 = course("MATH201", 2024, bob);
+        course("ART101", 2025, null);
+        for (int i = 0; i < 5; i++) {
+            student("STU00" + i, cs2023);
+        }
+        student("GUEST1", math2024);
+    }
+
+    @Test
+    void coursesByYearRangeAndTeacherPresence() {
+        StructuredFilterDto filter = new StructuredFilterDto();
+        filter.setYearFrom(2024);
+        filter.setHasTeacher(true);
+
+        List<Course> courses = courseRepository.findAll(CourseSpecifications.matching(filter));
+
+        assertEquals(List.of(math2024.getId()), courses.stream().map(Course::getId).toList());
+    }
+
+    @Test
+    void teachersByTaughtYearAreNotDuplicated() {
+        StructuredFilterDto filter = new StructuredFilterDto();
+        filter.setYearTo(2023);
+
+        List<Teacher> teachers = teacherRepository.findAll(TeacherSpecifications.matching(filter));
+
+        assertEquals(List.of(alice.getId()), teachers.stream().map(Teacher::getId).toList());
+    }
+
+    @Test
+    void studentsByPrefixAndCourseArePagedAsSlices() {
+        StructuredFilterDto filter = new StructuredFilterDto();
+        filter.setSerialNumberPrefix("STU");
+        filter.setCourseId(cs2023.getId());
+
+        Slice<Student> first = SpecificationSlices.findSlice(studentRepository,
+                StudentSpecifications.matching(filter), PageRequest.of(0, 2, Sort.by("serialNumber")));
+        Slice<Student> last = SpecificationSlices.findSlice(studentRepository,
+                StudentSpecifications.matching(filter), PageRequest.of(2, 2, Sort.by("serialNumber")));
+
+        assertEquals(List.of("STU000", "STU001"), first.stream().map(Student::getSerialNumber).toList());
+        assertTrue(first.hasNext());
+        assertEquals(List.of("STU004"), last.stream().map(Student::getSerialNumber).toList());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void studentsByTeacherAndYear() {
+        StructuredFilterDto filter = new StructuredFilterDto();
+        filter.setTeacherId(alice.getId());
+        filter.setYearFrom(2023);
+        filter.setYearTo(2023);
+
+        assertEquals(5, studentRepository.findAll(StudentSpecifications.matching(filter)).size());
+    }
+
+    @Test
+    void likeWildcardsInPrefixAreLiteral() {
+        StructuredFilterDto filter = new StructuredFilterDto();
+        filter.setSerialNumberPrefix("STU_");
+
+        assertTrue(studentRepository.findAll(StudentSpecifications.matching(filter)).isEmpty());
+    }
+
+    private Teacher teacher(String firstName) {
+        Teacher teacher = new Teacher();
+        teacher.setFirstName(firstName);
+        teacher.setLastName("Smith");
+        return teacherRepository.save(teacher);
+    }
+
+    private Course course(String code, int year, Teacher teacher) {
+        Course course = new Course();
+        course.setCode(code);
+        course.setTitle(code);
+        course.setYear(year);
+        course.setTeacher(teacher);
+        return courseRepository.save(course);
+    }
+
+    private void student(String serialNumber, Course course) {
+        Student student = new Student();
+        student.setFirstName("First");
+        student.setLastName("Last");
+        student.setSerialNumber(serialNumber);
+        student.setCourse(course);
+        studentRepository.save(student);
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+        enrollment.setTerm(String.valueOf(course.getYear()));
+        enrollment.setStatus(EnrollmentStatusEnum.ACTIVE);
+        enrollmentRepository.save(enrollment);
+    }
+}
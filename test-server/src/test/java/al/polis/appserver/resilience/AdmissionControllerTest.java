@@ -0,0 +1,60 @@
+package al.polis.appserver.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void searchesAreShedBeforeGetsAndWrites() {
+        AdmissionController admission = new AdmissionController(new GradientLimit(20, 10, 200, 10, 60, 1.5, 0.2));
+        int searches = 0;
+        while (admission.tryAcquire(EndpointClassEnum.SEARCH) > 0) {
+            searches++;
+        }
+
+        assertEquals(12, searches);
+        assertEquals(13, admission.tryAcquire(EndpointClassEnum.GET));
+        for (int i = 14; i <= 20; i++) {
+            assertEquals(i, admission.tryAcquire(EndpointClassEnum.WRITE));
+        }
+        assertEquals(0, admission.tryAcquire(EndpointClassEnum.WRITE));
+        assertEquals(1, admission.getRejected(EndpointClassEnum.SEARCH));
+        assertEquals(1, admission.getRejected(EndpointClassEnum.WRITE));
+
+        admission.release(FAST, 20);
+        assertEquals(20, admission.tryAcquire(EndpointClassEnum.GET));
+    }
+
+    @Test
+    void limitGrowsWhileLatencyHoldsAndShrinksWhenRequestsQueue() {
+        GradientLimit limit = new GradientLimit(20, 10, 200, 10, 60, 1.5, 0.2);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(FAST, limit.getLimit());
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > 20, "limit " + grown);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(FAST * 10, limit.getLimit());
+        }
+
+        assertTrue(limit.getLimit() < grown, "limit " + limit.getLimit());
+        assertTrue(limit.getLimit() >= 10);
+    }
+
+    @Test
+    void idleWindowsDoNotRaiseTheLimit() {
+        GradientLimit limit = new GradientLimit(20, 10, 200, 10, 60, 1.5, 0.2);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(FAST, 2);
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+}
@@ -0,0 +1,50 @@
+package al.polis.appserver.resilience;
+
+import al.polis.appserver.communication.ServerErrorEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "appserver.admission.window-size=1000")
+@AutoConfigureMockMvc
+class AdmissionInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AdmissionController admission;
+
+    @Test
+    void overloadShedsSearchesWithRetryAfterAndAdmitsGets() throws Exception {
+        int held = 0;
+        while (admission.tryAcquire(EndpointClassEnum.SEARCH) > 0) {
+            held++;
+        }
+        try {
+            mockMvc.perform(post("/course/filter").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"filter\":\"\",\"pagination\":{\"pageNumber\":0,\"pageSize\":5}}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.status[0].message").value(ServerErrorEnum.SERVER_OVERLOADED.getMessage()));
+            mockMvc.perform(post("/course/get").contentType(MediaType.APPLICATION_JSON).content("{\"id\":42}"))
+                    .andExpect(status().isNotFound());
+            mockMvc.perform(get("/health/ready")).andExpect(status().isOk());
+        } finally {
+            for (int i = 0; i < held; i++) {
+                admission.release(0, 0);
+            }
+        }
+        assertEquals(0, admission.getInFlight());
+    }
+}
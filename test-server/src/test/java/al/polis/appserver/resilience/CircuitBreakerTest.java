@@ -0,0 +1,80 @@
+package al.polis.appserver.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker("test", 10, 4, 0.5, 1000, now::get);
+
+    @Test
+    void opensWhenTheFailureShareIsReached() {
+        record(false, false, true);
+        assertEquals(CircuitStateEnum.CLOSED, breaker.getState());
+
+        record(true);
+
+        assertEquals(CircuitStateEnum.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1, breaker.getRejected());
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        record(false, false, true);
+        for (int i = 0; i < 10; i++) {
+            record(false);
+        }
+        record(true, true, true, true);
+
+        assertEquals(CircuitStateEnum.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void singleProbeAfterTheOpenPeriodClosesTheCircuit() {
+        record(true, true, true, true);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitStateEnum.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        breaker.record(false);
+
+        assertEquals(CircuitStateEnum.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedProbeReopensTheCircuit() {
+        record(true, true, true, true);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertTrue(breaker.tryAcquire());
+        breaker.record(true);
+
+        assertEquals(CircuitStateEnum.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void releasedProbeLetsTheNextCallerProbe() {
+        record(true, true, true, true);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertTrue(breaker.tryAcquire());
+        breaker.release();
+
+        assertTrue(breaker.tryAcquire());
+    }
+
+    private void record(boolean... saturated) {
+        for (boolean outcome : saturated) {
+            breaker.record(outcome);
+        }
+    }
+}
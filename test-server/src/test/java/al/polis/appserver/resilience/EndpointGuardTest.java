@@ -0,0 +1,94 @@
+package al.polis.appserver.resilience;
+
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.exception.DomainException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "appserver.resilience.get.max-wait-millis=0",
+        "appserver.resilience.breaker.open-millis=60000"})
+@AutoConfigureMockMvc
+class EndpointGuardTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EndpointGuards guards;
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void fullBulkheadRejectsOnlyItsClass() throws Exception {
+        Bulkhead gets = guards.get(EndpointClassEnum.GET).getBulkhead();
+        int permits = gets.getMaxConcurrent();
+        for (int i = 0; i < permits; i++) {
+            assertTrue(gets.tryAcquire());
+        }
+        try {
+            mockMvc.perform(post("/course/get").contentType(MediaType.APPLICATION_JSON).content("{\"id\":42}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.status[0].message").value(ServerErrorEnum.ENDPOINT_BUSY.getMessage()));
+            mockMvc.perform(post("/course/filter").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"filter\":\"\",\"pagination\":{\"pageNumber\":0,\"pageSize\":5}}"))
+                    .andExpect(status().isOk());
+        } finally {
+            for (int i = 0; i < permits; i++) {
+                gets.release();
+            }
+        }
+        assertEquals(0, gets.getInUse());
+    }
+
+    @Test
+    void openSearchCircuitFailsSearchesFastButNotGets() throws Exception {
+        CircuitBreaker searches = guards.get(EndpointClassEnum.SEARCH).getCircuitBreaker();
+        for (int i = 0; i < 20; i++) {
+            searches.record(true);
+        }
+
+        mockMvc.perform(post("/student/search").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status[0].message").value(ServerErrorEnum.DATABASE_SATURATED.getMessage()));
+        mockMvc.perform(post("/student/get").contentType(MediaType.APPLICATION_JSON).content("{\"id\":42}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void statementsCarryTheTimeoutOfTheirClass() throws Throwable {
+        // H2 keeps the last timeout on the session, so only guarded statements are compared
+        assertEquals(EndpointClassEnum.WRITE.getDefaultQueryTimeoutSeconds(),
+                guards.get(EndpointClassEnum.WRITE).call(this::queryTimeoutOfNewStatement));
+        assertEquals(EndpointClassEnum.GET.getDefaultQueryTimeoutSeconds(),
+                guards.get(EndpointClassEnum.GET).call(this::queryTimeoutOfNewStatement));
+    }
+
+    @Test
+    void timedOutQueriesAreReportedAsSuch() {
+        DomainException ex = assertThrows(DomainException.class, () -> guards.get(EndpointClassEnum.GET).call(() -> {
+            throw new QueryTimeoutException("Statement cancelled");
+        }));
+
+        assertEquals(ServerErrorEnum.QUERY_TIMEOUT, ex.getError());
+    }
+
+    private int queryTimeoutOfNewStatement() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            return statement.getQueryTimeout();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package al.polis.appserver.service.impl;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.dto.BatchOperationDto;
+import al.polis.appserver.dto.BatchOperationEnum;
+import al.polis.appserver.dto.BatchOperationResultDto;
+import al.polis.appserver.dto.BatchOutcomeEnum;
+import al.polis.appserver.dto.BatchRequestDto;
+import al.polis.appserver.dto.BatchResultDto;
+import al.polis.appserver.dto.CourseDto;
+import al.polis.appserver.model.Course;
+import al.polis.appserver.model.Student;
+import al.polis.appserver.repo.CourseRepository;
+import al.polis.appserver.repo.EnrollmentRepository;
+import al.polis.appserver.repo.StudentRepository;
+import al.polis.appserver.repo.StudentSummary;
+import al.polis.appserver.repo.TeacherRepository;
+import al.polis.appserver.service.BatchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Batches commit their own transactions, so the rows they create are
+ * removed after each test instead of rolled back.
+ */
+@SpringBootTest
+class BatchServiceImplTest {
+
+    @Autowired
+    private BatchService batchService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        ErrorContext.readAndClean();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            enrollmentRepository.deleteAll(enrollmentRepository.findAll().stream()
+                    .filter(e -> e.getStudent().getSerialNumber().startsWith("BATCH")).toList());
+            studentRepository.deleteAll(studentRepository.findAll().stream()
+                    .filter(s -> s.getSerialNumber() != null && s.getSerialNumber().startsWith("BATCH")).toList());
+            courseRepository.deleteAll(courseRepository.findAll().stream()
+                    .filter(c -> c.getCode() != null && c.getCode().startsWith("BATCH")).toList());
+            teacherRepository.deleteAll(teacherRepository.findAll().stream()
+                    .filter(t -> "Batch".equals(t.getLastName())).toList());
+        });
+    }
+
+    @Test
+    void mobileSequenceRunsInOneTransactionWithReferences() {
+        BatchResultDto res = batchService.executeBatch(batch(false,
+                op(BatchOperationEnum.UPSERT_TEACHER, "{\"firstName\":\"Ada\",\"lastName\":\"Batch\"}"),
+                op(BatchOperationEnum.UPSERT_COURSE, "{\"code\":\"BATCH101\",\"title\":\"Batching\",\"year\":2025}"),
+                op(BatchOperationEnum.ASSOCIATE_TEACHER_TO_COURSE, "{\"idTeacher\":\"$0.id\",\"idCourse\":\"$1.id\"}"),
+                op(BatchOperationEnum.UPSERT_STUDENT, "{\"firstName\":\"Bo\",\"lastName\":\"Lee\",\"serialNumber\":\"BATCH001\"}"),
+                op(BatchOperationEnum.ASSOCIATE_STUDENT_TO_COURSE, "{\"idStudent\":\"$3.id\",\"idCourse\":\"$1.id\"}")));
+
+        assertEquals(5, res.getSucceeded());
+        assertEquals(0, res.getFailed());
+        assertTrue(ErrorContext.readAndClean().isEmpty());
+
+        Long courseId = ((CourseDto) res.getResults().get(1).getResult()).getId();
+        Course course = courseRepository.findById(courseId).orElseThrow();
+        assertEquals("Ada", course.getTeacher().getFirstName());
+        Student student = studentRepository.findAll().stream()
+                .filter(s -> "BATCH001".equals(s.getSerialNumber())).findFirst().orElseThrow();
+        assertEquals(List.of(student.getId()), enrollmentRepository.findActiveStudentsByCourseIdIn(List.of(courseId))
+                .stream().map(StudentSummary::id).toList());
+    }
+
+    @Test
+    void failureRollsBackTheWholeBatch() {
+        BatchResultDto res = batchService.executeBatch(batch(false,
+                op(BatchOperationEnum.UPSERT_COURSE, "{\"code\":\"BATCH201\",\"title\":\"Gone\",\"year\":2025}"),
+                op(BatchOperationEnum.ASSOCIATE_TEACHER_TO_COURSE, "{\"idTeacher\":42,\"idCourse\":\"$0.id\"}"),
+                op(BatchOperationEnum.UPSERT_COURSE, "{\"code\":\"BATCH202\",\"title\":\"Never\",\"year\":2025}")));
+
+        assertEquals(List.of(BatchOutcomeEnum.ROLLED_BACK, BatchOutcomeEnum.FAILED, BatchOutcomeEnum.SKIPPED),
+                outcomes(res));
+        assertFalse(res.getResults().get(1).getStatus().isEmpty());
+        assertEquals(ServerErrorEnum.BATCH_ROLLED_BACK.getMessage(), ErrorContext.readAndClean().get(0).getMessage());
+        assertTrue(courseRepository.findAll().stream().noneMatch(c -> c.getCode().startsWith("BATCH")));
+    }
+
+    @Test
+    void continueOnErrorCommitsEachOperation() {
+        BatchResultDto res = batchService.executeBatch(batch(true,
+                op(BatchOperationEnum.UPSERT_COURSE, "{\"code\":\"BATCH301\",\"title\":\"Kept\",\"year\":2025}"),
+                op(BatchOperationEnum.DELETE_TEACHER, "{\"id\":42}"),
+                op(BatchOperationEnum.GET_COURSE, "{\"id\":\"$1.id\"}"),
+                op(BatchOperationEnum.UPSERT_COURSE, "{\"code\":\"BATCH302\",\"title\":\"Also kept\",\"year\":2025}")));
+
+        assertEquals(List.of(BatchOutcomeEnum.SUCCEEDED, BatchOutcomeEnum.FAILED, BatchOutcomeEnum.FAILED,
+                BatchOutcomeEnum.SUCCEEDED), outcomes(res));
+        assertEquals(ServerErrorEnum.BATCH_OPERATION_INVALID.getMessage(),
+                res.getResults().get(2).getStatus().get(0).getMessage());
+        assertEquals(2, courseRepository.findAll().stream().filter(c -> c.getCode().startsWith("BATCH")).count());
+    }
+
+    private BatchRequestDto batch(boolean continueOnError, BatchOperationDto... operations) {
+        BatchRequestDto batch = new BatchRequestDto();
+        batch.setContinueOnError(continueOnError);
+        batch.setOperations(new ArrayList<>(List.of(operations)));
+        return batch;
+    }
+
+    private BatchOperationDto op(BatchOperationEnum op, String payload) {
+        try {
+            BatchOperationDto operation = new BatchOperationDto();
+            operation.setOp(op);
+            operation.setPayload(objectMapper.readTree(payload));
+            return operation;
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private static List<BatchOutcomeEnum> outcomes(BatchResultDto res) {
+        return res.getResults().stream().map(BatchOperationResultDto::getOutcome).toList();
+    }
+}
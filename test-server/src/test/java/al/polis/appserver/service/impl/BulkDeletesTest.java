@@ -0,0 +1,134 @@
+package al.polis.appserver.service.impl;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.dto.BulkDeleteResultDto;
+import al.polis.appserver.dto.LongIdListDto;
+import al.polis.appserver.exception.TestServerRuntimeException;
+import al.polis.appserver.model.Course;
+import al.polis.appserver.model.Student;
+import al.polis.appserver.model.Teacher;
+import al.polis.appserver.repo.CourseRepository;
+import al.polis.appserver.repo.StudentRepository;
+import al.polis.appserver.repo.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BulkDeletesTest {
+
+    private static final long MISSING_ID = 42L;
+
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @AfterEach
+    void cleanErrorContext() {
+        ErrorContext.readAndClean();
+    }
+
+    @Test
+    void teachersWithCoursesAreRefused() {
+        Teacher busy = teacher("Busy");
+        Teacher free = teacher("Free");
+        course("CS101", busy);
+
+        BulkDeleteResultDto result = BulkDeletes.delete(
+                new LongIdListDto(List.of(busy.getId(), free.getId(), MISSING_ID)),
+                teacherRepository::findExistingIds,
+                teacherRepository::deleteUnreferencedByIdIn,
+                ServerErrorEnum.DELETE_TEACHER_NOT_ALLOWED);
+
+        assertEquals(List.of(free.getId()), result.getDeleted());
+        assertEquals(List.of(busy.getId()), result.getRefused());
+        assertEquals(List.of(MISSING_ID), result.getNotFound());
+        assertTrue(teacherRepository.existsById(busy.getId()));
+        assertFalse(teacherRepository.existsById(free.getId()));
+        assertEquals(1, ErrorContext.readAndClean().size());
+    }
+
+    @Test
+    void coursesWithTeacherOrStudentsAreRefused() {
+        Course taught = course("CS101", teacher("Alice"));
+        Course attended = course("MATH201", null);
+        Course empty = course("ART101", null);
+        student("STU001", attended);
+
+        BulkDeleteResultDto result = BulkDeletes.delete(
+                new LongIdListDto(List.of(taught.getId(), attended.getId(), empty.getId())),
+                courseRepository::findExistingIds,
+                courseRepository::deleteUnreferencedByIdIn,
+                ServerErrorEnum.DELETE_COURSE_NOT_ALLOWED);
+
+        assertEquals(List.of(empty.getId()), result.getDeleted());
+        assertEquals(List.of(taught.getId(), attended.getId()), result.getRefused());
+        assertTrue(result.getNotFound().isEmpty());
+    }
+
+    @Test
+    void studentsWithoutCourseAreDeletedOnce() {
+        Student enrolled = student("STU001", course("CS101", null));
+        Student idle = student("STU002", null);
+
+        BulkDeleteResultDto result = BulkDeletes.delete(
+                new LongIdListDto(List.of(idle.getId(), idle.getId(), enrolled.getId())),
+                studentRepository::findExistingIds,
+                studentRepository::deleteUnreferencedByIdIn,
+                ServerErrorEnum.DELETE_STUDENT_NOT_ALLOWED);
+
+        assertEquals(List.of(idle.getId()), result.getDeleted());
+        assertEquals(List.of(enrolled.getId()), result.getRefused());
+    }
+
+    @Test
+    void emptyOrOversizedIdListsAreRejected() {
+        List<Long> tooMany = LongStream.rangeClosed(1, BulkDeletes.MAX_IDS + 1).boxed().toList();
+
+        for (LongIdListDto request : List.of(new LongIdListDto(), new LongIdListDto(Collections.emptyList()),
+                new LongIdListDto(tooMany))) {
+            assertThrows(TestServerRuntimeException.class, () -> BulkDeletes.delete(request,
+                    studentRepository::findExistingIds,
+                    studentRepository::deleteUnreferencedByIdIn,
+                    ServerErrorEnum.DELETE_STUDENT_NOT_ALLOWED));
+        }
+    }
+
+    private Teacher teacher(String firstName) {
+        Teacher teacher = new Teacher();
+        teacher.setFirstName(firstName);
+        teacher.setLastName("Smith");
+        return teacherRepository.save(teacher);
+    }
+
+    private Course course(String code, Teacher teacher) {
+        Course course = new Course();
+        course.setCode(code);
+        course.setTitle(code);
+        course.setYear(2025);
+        course.setTeacher(teacher);
+        return courseRepository.save(course);
+    }
+
+    private Student student(String serialNumber, Course course) {
+        Student student = new Student();
+        student.setFirstName("First");
+        student.setLastName("Last");
+        student.setSerialNumber(serialNumber);
+        student.setCourse(course);
+        return studentRepository.save(student);
+    }
+}
@@ -0,0 +1,231 @@
+package al.polis.appserver.service.impl;
+
+import al.polis.appserver.communication.ErrorContext;
+import al.polis.appserver.communication.Pagination;
+import al.polis.appserver.communication.ServerErrorEnum;
+import al.polis.appserver.communication.Sorting;
+import al.polis.appserver.dto.CourseDto;
+import al.polis.appserver.dto.CourseStudentAssocDto;
+import al.polis.appserver.dto.EnrollmentDto;
+import al.polis.appserver.dto.EnrollmentFilterDto;
+import al.polis.appserver.dto.LongIdDto;
+import al.polis.appserver.dto.StudentDto;
+import al.polis.appserver.exception.DomainException;
+import al.polis.appserver.exception.TestServerRuntimeException;
+import al.polis.appserver.model.Course;
+import al.polis.appserver.model.EnrollmentStatusEnum;
+import al.polis.appserver.model.Student;
+import al.polis.appserver.service.CourseService;
+import al.polis.appserver.service.EnrollmentService;
+import al.polis.appserver.service.StudentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class EnrollmentServiceImplTest {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Course math;
+    private Course physics;
+    private final List<Student> students = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        math = course("MATH101");
+        physics = course("PHYS101");
+        for (int i = 0; i < 5; i++) {
+            Student student = new Student();
+            student.setFirstName("First" + i);
+            student.setLastName("Last");
+            student.setSerialNumber("ENR00" + i);
+            entityManager.persist(student);
+            students.add(student);
+            enroll(student, math, null);
+        }
+        enroll(students.get(0), physics, "2025-FALL");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void cleanErrorContext() {
+        ErrorContext.readAndClean();
+    }
+
+    @Test
+    void studentAttendsSeveralCourses() {
+        Slice<EnrollmentDto> schedule = enrollmentService.getSchedule(scheduleOf(students.get(0), 10));
+
+        assertEquals(List.of(math.getId(), physics.getId()),
+                schedule.stream().map(e -> e.getCourse().getId()).toList());
+        assertEquals(List.of("2025", "2025-FALL"), schedule.stream().map(EnrollmentDto::getTerm).toList());
+    }
+
+    @Test
+    void rosterPagesInStudentOrderWithTwoStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Slice<EnrollmentDto> first = enrollmentService.getRoster(rosterOf(math, 0, 3));
+        Slice<EnrollmentDto> last = enrollmentService.getRoster(rosterOf(math, 1, 3));
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(students.subList(0, 3).stream().map(Student::getId).toList(),
+                first.stream().map(e -> e.getStudent().getId()).toList());
+        assertTrue(first.hasNext());
+        assertEquals(2, last.getContent().size());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void dropHidesFromRosterAndEnrollReactivates() {
+        EnrollmentDto drop = new EnrollmentDto();
+        drop.setIdStudent(students.get(1).getId());
+        drop.setIdCourse(math.getId());
+        enrollmentService.drop(drop);
+
+        assertEquals(4, enrollmentService.getRoster(rosterOf(math, 0, 10)).getContent().size());
+        EnrollmentFilterDto dropped = rosterOf(math, 0, 10);
+        dropped.setStatus(EnrollmentStatusEnum.DROPPED);
+        EnrollmentDto history = enrollmentService.getRoster(dropped).getContent().get(0);
+
+        EnrollmentDto again = enrollmentService.enroll(drop);
+        assertEquals(history.getId(), again.getId());
+        assertEquals(EnrollmentStatusEnum.ACTIVE, again.getStatus());
+    }
+
+    @Test
+    void legacyAssociationAlsoEnrolls() {
+        Student student = students.get(2);
+        CourseStudentAssocDto assoc = new CourseStudentAssocDto();
+        assoc.setIdStudent(student.getId());
+        assoc.setIdCourse(physics.getId());
+
+        studentService.associateStudentToCourse(assoc);
+
+        assertEquals(physics.getId(), studentService.getStudent(new LongIdDto(student.getId())).getCourse().getId());
+        assertEquals(2, enrollmentService.getSchedule(scheduleOf(student, 10)).getContent().size());
+        assertThrows(TestServerRuntimeException.class,
+                () -> studentService.deleteStudent(new LongIdDto(students.get(3).getId())));
+    }
+
+    @Test
+    void legacyRemovalOnlyDropsItsOwnTerm() {
+        Student student = students.get(0);
+        CourseStudentAssocDto assoc = new CourseStudentAssocDto();
+        assoc.setIdStudent(student.getId());
+        assoc.setIdCourse(physics.getId());
+        studentService.associateStudentToCourse(assoc);
+
+        studentService.removeStudentFromCourse(assoc);
+
+        assertEquals(List.of("2025", "2025-FALL"),
+                enrollmentService.getSchedule(scheduleOf(student, 10)).stream().map(EnrollmentDto::getTerm).toList());
+    }
+
+    @Test
+    void courseRosterComesFromActiveEnrollments() {
+        CourseDto course = courseService.getCourse(new LongIdDto(physics.getId()));
+
+        assertEquals(List.of(students.get(0).getId()), course.getStudents().stream().map(StudentDto::getId).toList());
+    }
+
+    @Test
+    void droppedHistoryDoesNotBlockDeletes() {
+        EnrollmentDto physicsTerm = new EnrollmentDto();
+        physicsTerm.setIdStudent(students.get(0).getId());
+        physicsTerm.setIdCourse(physics.getId());
+        enrollmentService.drop(physicsTerm);
+        EnrollmentDto mathTerm = new EnrollmentDto();
+        mathTerm.setIdStudent(students.get(4).getId());
+        mathTerm.setIdCourse(math.getId());
+        enrollmentService.drop(mathTerm);
+
+        courseService.deleteCourse(new LongIdDto(physics.getId()));
+        studentService.deleteStudent(new LongIdDto(students.get(4).getId()));
+        entityManager.flush();
+
+        assertEquals(1, enrollmentService.getSchedule(scheduleOf(students.get(0), 10)).getContent().size());
+        EnrollmentFilterDto dropped = rosterOf(math, 0, 10);
+        dropped.setStatus(EnrollmentStatusEnum.DROPPED);
+        assertTrue(enrollmentService.getRoster(dropped).getContent().isEmpty());
+    }
+
+    @Test
+    void overlongTermIsRejected() {
+        EnrollmentDto enrollment = new EnrollmentDto();
+        enrollment.setIdStudent(students.get(1).getId());
+        enrollment.setIdCourse(math.getId());
+        enrollment.setTerm(" 2025-FALL-EVENING ");
+
+        DomainException ex = assertThrows(DomainException.class, () -> enrollmentService.enroll(enrollment));
+
+        assertEquals(ServerErrorEnum.ENROLLMENT_TERM_INVALID, ex.getError());
+    }
+
+    @Test
+    void sortingIsRefused() {
+        Sorting sorting = new Sorting();
+        sorting.setField("lastName");
+        EnrollmentFilterDto filter = rosterOf(math, 0, 10);
+        filter.setPagination(new Pagination(0, 10, new Sorting[]{sorting}));
+
+        assertThrows(TestServerRuntimeException.class, () -> enrollmentService.getRoster(filter));
+    }
+
+    private Course course(String code) {
+        Course course = new Course();
+        course.setCode(code);
+        course.setTitle(code);
+        course.setYear(2025);
+        entityManager.persist(course);
+        return course;
+    }
+
+    private void enroll(Student student, Course course, String term) {
+        EnrollmentDto enrollment = new EnrollmentDto();
+        enrollment.setIdStudent(student.getId());
+        enrollment.setIdCourse(course.getId());
+        enrollment.setTerm(term);
+        enrollmentService.enroll(enrollment);
+    }
+
+    private static EnrollmentFilterDto rosterOf(Course course, int page, int size) {
+        EnrollmentFilterDto filter = new EnrollmentFilterDto();
+        filter.setIdCourse(course.getId());
+        filter.setPagination(new Pagination(page, size));
+        return filter;
+    }
+
+    private static EnrollmentFilterDto scheduleOf(Student student, int size) {
+        EnrollmentFilterDto filter = new EnrollmentFilterDto();
+        filter.setIdStudent(student.getId());
+        filter.setPagination(new Pagination(0, size));
+        return filter;
+    }
+}
@@ -0,0 +1,65 @@
+package al.polis.appserver.service.impl;
+
+import al.polis.appserver.dto.HealthDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class HealthServiceImplTest {
+
+    private final ApplicationAvailability availability = mock(ApplicationAvailability.class);
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+
+    @BeforeEach
+    void upByDefault() throws SQLException {
+        when(availability.getLivenessState()).thenReturn(LivenessState.CORRECT);
+        when(availability.getReadinessState()).thenReturn(ReadinessState.ACCEPTING_TRAFFIC);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+    }
+
+    @Test
+    void readinessIsCheckedOncePerInterval() throws SQLException {
+        HealthServiceImpl health = new HealthServiceImpl(availability, dataSource, 60_000, 0.9, 1);
+
+        HealthDto first = health.getReadiness();
+        HealthDto second = health.getReadiness();
+
+        assertTrue(first.isUp());
+        assertSame(first, second);
+        verify(dataSource, times(1)).getConnection();
+        verify(connection).close();
+    }
+
+    @Test
+    void notReadyUntilStartupCompletes() {
+        when(availability.getReadinessState()).thenReturn(ReadinessState.REFUSING_TRAFFIC);
+        HealthServiceImpl health = new HealthServiceImpl(availability, dataSource, 0, 0.9, 1);
+
+        assertFalse(health.getReadiness().isUp());
+        assertTrue(health.getLiveness().isUp());
+    }
+
+    @Test
+    void unreachableDatabaseIsNotReadyButStillLive() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        HealthServiceImpl health = new HealthServiceImpl(availability, dataSource, 0, 0.9, 1);
+
+        HealthDto readiness = health.getReadiness();
+
+        assertFalse(readiness.isUp());
+        assertEquals("Connection refused", readiness.getChecks().get(readiness.getChecks().size() - 1).getDetail());
+        assertTrue(health.getLiveness().isUp());
+    }
+}
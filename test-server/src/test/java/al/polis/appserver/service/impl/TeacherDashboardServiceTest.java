@@ -0,0 +1,176 @@
+package al.polis.appserver.service.impl;
+
+import al.polis.appserver.dto.CourseDto;
+import al.polis.appserver.dto.LongIdDto;
+import al.polis.appserver.dto.StudentDto;
+import al.polis.appserver.dto.TeacherDashboardDto;
+import al.polis.appserver.dto.TeacherDto;
+import al.polis.appserver.model.Course;
+import al.polis.appserver.model.Enrollment;
+import al.polis.appserver.model.EnrollmentStatusEnum;
+import al.polis.appserver.model.Student;
+import al.polis.appserver.model.Teacher;
+import al.polis.appserver.repo.CourseRepository;
+import al.polis.appserver.repo.EnrollmentRepository;
+import al.polis.appserver.repo.StudentRepository;
+import al.polis.appserver.repo.TeacherRepository;
+import al.polis.appserver.service.CourseService;
+import al.polis.appserver.service.TeacherDashboardService;
+import al.polis.appserver.service.TeacherService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The dashboard lookups run on pool threads with their own connections, so
+ * the fixture is committed and removed again instead of rolled back.
+ */
+@SpringBootTest
+@Slf4j
+class TeacherDashboardServiceTest {
+
+    private static final int COURSES = 4;
+    private static final int STUDENTS_PER_COURSE = 5;
+
+    @Autowired
+    private TeacherDashboardService teacherDashboardService;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Teacher teacher;
+    private final List<Course> courses = new ArrayList<>();
+    private final List<Student> students = new ArrayList<>();
+    private final List<Enrollment> enrollments = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        teacher = new Teacher();
+        teacher.setFirstName("Dash");
+        teacher.setLastName("Board");
+        teacher = teacherRepository.save(teacher);
+        for (int c = 0; c < COURSES; c++) {
+            Course course = new Course();
+            course.setCode("DASH" + c);
+            course.setTitle("Dashboard " + c);
+            course.setYear(2025);
+            course.setTeacher(teacher);
+            course = courseRepository.save(course);
+            courses.add(course);
+            // The last course stays empty
+            for (int s = 0; c < COURSES - 1 && s < STUDENTS_PER_COURSE; s++) {
+                Student student = new Student();
+                student.setFirstName("First");
+                student.setLastName("Last");
+                student.setSerialNumber("DASH" + c + "S" + s);
+                student.setCourse(course);
+                students.add(studentRepository.save(student));
+                Enrollment enrollment = new Enrollment();
+                enrollment.setStudent(student);
+                enrollment.setCourse(course);
+                enrollment.setTerm("2025");
+                enrollment.setStatus(EnrollmentStatusEnum.ACTIVE);
+                enrollments.add(enrollmentRepository.save(enrollment));
+            }
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        enrollmentRepository.deleteAll(enrollments);
+        studentRepository.deleteAll(students);
+        courseRepository.deleteAll(courses);
+        teacherRepository.delete(teacher);
+    }
+
+    @Test
+    void dashboardGathersTeacherCoursesCountsAndRecentStudents() {
+        TeacherDashboardDto dashboard = teacherDashboardService.getTeacherDashboard(new LongIdDto(teacher.getId()));
+
+        assertEquals("Dash", dashboard.getTeacher().getFirstName());
+        assertEquals(courses.stream().map(Course::getId).toList(),
+                dashboard.getCourses().stream().map(CourseDto::getId).toList());
+        assertEquals(Long.valueOf(STUDENTS_PER_COURSE), dashboard.getEnrollmentCounts().get(courses.get(0).getId()));
+        assertEquals(Long.valueOf(0), dashboard.getEnrollmentCounts().get(courses.get(COURSES - 1).getId()));
+
+        List<Long> newest = enrollments.stream()
+                .sorted(Comparator.comparing(Enrollment::getId).reversed())
+                .map(enrollment -> enrollment.getStudent().getId()).limit(10).toList();
+        assertEquals(newest, dashboard.getRecentStudents().stream().map(StudentDto::getId).toList());
+        assertNotNull(dashboard.getRecentStudents().get(0).getCourse());
+    }
+
+    @Test
+    void unknownTeacherIsReported() {
+        assertThrows(RuntimeException.class,
+                () -> teacherDashboardService.getTeacherDashboard(new LongIdDto(42L)));
+    }
+
+    /**
+     * Sequential client flow (teacher, then every course with its roster)
+     * versus one dashboard call, each call paying a simulated round trip of
+     * {@code -Dbenchmark.rtt-millis} (default 40, a typical mobile RTT).
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void compareWithSequentialClientFlow() {
+        long rtt = Long.getLong("benchmark.rtt-millis", 40);
+        LongIdDto teacherId = new LongIdDto(teacher.getId());
+        int rounds = 20;
+
+        long sequential = 0;
+        long dashboard = 0;
+        for (int i = 0; i < rounds; i++) {
+            sequential += time(() -> {
+                TeacherDto dto = roundTrip(rtt, () -> teacherService.getTeacher(teacherId));
+                dto.getCourses().forEach(course ->
+                        roundTrip(rtt, () -> courseService.getCourse(new LongIdDto(course.getId()))));
+                return dto;
+            });
+            dashboard += time(() -> roundTrip(rtt, () -> teacherDashboardService.getTeacherDashboard(teacherId)));
+        }
+
+        log.info("Teacher home screen with {} courses and {} ms RTT: sequential {} ms, dashboard {} ms",
+                COURSES, rtt, sequential / rounds / 1_000_000, dashboard / rounds / 1_000_000);
+    }
+
+    // Each request gets its own session, as open-session-in-view gives it over HTTP
+    private <T> T roundTrip(long rttMillis, Supplier<T> call) {
+        try {
+            Thread.sleep(rttMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return new TransactionTemplate(transactionManager).execute(status -> call.get());
+    }
+
+    private static long time(Supplier<?> flow) {
+        long start = System.nanoTime();
+        flow.get();
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,89 @@
+package al.polis.appserver.service.impl;
+
+import al.polis.appserver.communication.Pagination;
+import al.polis.appserver.dto.SimpleStringFilterDto;
+import al.polis.appserver.dto.TeacherDto;
+import al.polis.appserver.model.Course;
+import al.polis.appserver.model.Student;
+import al.polis.appserver.model.Teacher;
+import al.polis.appserver.service.TeacherService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class TeacherListingStatementsTest {
+
+    private static final int TEACHERS = 12;
+    private static final int COURSES_PER_TEACHER = 3;
+
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        for (int t = 0; t < TEACHERS; t++) {
+            Teacher teacher = new Teacher();
+            teacher.setFirstName("Teacher" + t);
+            teacher.setLastName("Listing");
+            entityManager.persist(teacher);
+            for (int c = 0; c < COURSES_PER_TEACHER; c++) {
+                Course course = new Course();
+                course.setCode("T" + t + "C" + c);
+                course.setTitle("Course " + c);
+                course.setYear(2025);
+                course.setTeacher(teacher);
+                entityManager.persist(course);
+
+                Student student = new Student();
+                student.setFirstName("First");
+                student.setLastName("Last");
+                student.setSerialNumber("T" + t + "C" + c + "S");
+                student.setCourse(course);
+                entityManager.persist(student);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithPageSize() {
+        long small = statementsForPage(2);
+        long large = statementsForPage(TEACHERS);
+
+        assertEquals(2, small);
+        assertEquals(small, large);
+    }
+
+    private long statementsForPage(int pageSize) {
+        SimpleStringFilterDto filter = new SimpleStringFilterDto();
+        filter.setFilter("Teacher");
+        filter.setPagination(new Pagination(0, pageSize));
+
+        entityManager.clear();
+        statistics.clear();
+        Slice<TeacherDto> teachers = teacherService.filterTeachers(filter);
+
+        assertEquals(pageSize, teachers.getContent().size());
+        teachers.forEach(teacher -> assertEquals(COURSES_PER_TEACHER, teacher.getCourses().size()));
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,110 @@
+package al.polis.appserver.trace;
+
+import al.polis.appserver.filter.TraceIdFilter;
+import al.polis.appserver.model.Course;
+import al.polis.appserver.repo.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "appserver.trace.sample-rate=1")
+@AutoConfigureMockMvc
+class TracingTest {
+
+    @TestConfiguration
+    static class CollectingExporterConfig {
+        @Bean
+        @Primary
+        CollectingExporter collectingExporter() {
+            return new CollectingExporter();
+        }
+    }
+
+    static class CollectingExporter implements SpanExporter {
+        final List<Trace> traces = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void export(Trace trace) {
+            traces.add(trace);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CollectingExporter exporter;
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private Course course;
+
+    @BeforeEach
+    void seed() {
+        course = new Course();
+        course.setCode("TRC101");
+        course.setTitle("Tracing");
+        course.setYear(2024);
+        course = courseRepository.save(course);
+        exporter.traces.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteById(course.getId());
+    }
+
+    @Test
+    void filterRequestIsRecordedLayerByLayer() throws Exception {
+        mockMvc.perform(post("/course/filter").contentType(MediaType.APPLICATION_JSON)
+                        .header(TraceIdFilter.HEADER, "trace-test-1")
+                        .content("{\"filter\":\"TRC\",\"pagination\":{\"pageNumber\":0,\"pageSize\":10}}"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, exporter.traces.size());
+        Trace trace = exporter.traces.get(0);
+        assertEquals("trace-test-1", trace.getTraceId());
+        List<Span> spans = trace.getSpans();
+        Map<String, Span> byId = spans.stream().collect(Collectors.toMap(Span::getSpanId, Function.identity()));
+
+        Span root = spans.get(0);
+        assertEquals("POST /course/filter", root.getName());
+        assertEquals("200", root.getAttributes().get("http.status"));
+        Span controller = only(spans, "CourseController.filterCourses");
+        Span service = only(spans, "CourseServiceImpl.filterCourses");
+        assertEquals(root.getSpanId(), controller.getParentSpanId());
+        assertEquals(controller.getSpanId(), service.getParentSpanId());
+        assertEquals(SpanKindEnum.SERVICE, service.getKind());
+
+        Span query = spans.stream().filter(s -> s.getKind() == SpanKindEnum.JDBC).findFirst().orElseThrow();
+        assertTrue(query.getAttributes().get("db.statement").toLowerCase().contains("from course"));
+        assertEquals(SpanKindEnum.REPOSITORY, byId.get(query.getParentSpanId()).getKind());
+
+        assertTrue(spans.stream().anyMatch(s -> s.getKind() == SpanKindEnum.MAPPER));
+        assertTrue(spans.stream().anyMatch(s -> s.getName().equals("jackson.write")));
+        assertTrue(spans.stream().allMatch(s -> s.getDurationMicros() >= 0));
+    }
+
+    private static Span only(List<Span> spans, String name) {
+        List<Span> matching = spans.stream().filter(s -> s.getName().equals(name)).toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,35 @@
+package al.polis.appserver.warmup;
+
+import al.polis.appserver.cache.QueryResultCache;
+import al.polis.appserver.communication.Pagination;
+import al.polis.appserver.dto.SimpleStringFilterDto;
+import al.polis.appserver.service.CourseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {"appserver.warmup.enabled=true", "appserver.warmup.iterations=3",
+        "appserver.warmup.page-sizes=20"})
+class WarmupRunnerTest {
+
+    @Autowired
+    private QueryResultCache queryResultCache;
+    @Autowired
+    private CourseService courseService;
+
+    @Test
+    void firstPagesAreCachedWhenStartupCompletes() {
+        // iterations bypass the cache; only the final preload of the three first pages misses
+        assertEquals(3, queryResultCache.getMisses());
+        assertEquals(3, queryResultCache.getSize());
+
+        SimpleStringFilterDto filter = new SimpleStringFilterDto();
+        filter.setFilter("");
+        filter.setPagination(new Pagination(0, 20));
+        courseService.filterCourses(filter);
+
+        assertEquals(1, queryResultCache.getHits());
+    }
+}